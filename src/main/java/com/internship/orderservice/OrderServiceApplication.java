@@ -1,14 +1,46 @@
 package com.internship.orderservice;
 
+import com.internship.orderservice.config.CacheInvalidationProperties;
+import com.internship.orderservice.config.ConflictRetryProperties;
+import com.internship.orderservice.config.IdempotencyProperties;
+import com.internship.orderservice.config.ItemCatalogProperties;
 import com.internship.orderservice.config.KafkaTopicsProperties;
+import com.internship.orderservice.config.OrderArchiveProperties;
+import com.internship.orderservice.config.OrderBatchProperties;
+import com.internship.orderservice.config.OrderCacheProperties;
+import com.internship.orderservice.config.OrderHttpCacheProperties;
+import com.internship.orderservice.config.OrderPartitionsProperties;
+import com.internship.orderservice.config.OrderStatsProperties;
+import com.internship.orderservice.config.OutboxProperties;
+import com.internship.orderservice.config.PaymentConsumerProperties;
+import com.internship.orderservice.config.ProcessedEventsProperties;
+import com.internship.orderservice.config.UserCacheProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients
-@EnableConfigurationProperties(KafkaTopicsProperties.class)
+@EnableScheduling
+@EnableConfigurationProperties({
+		KafkaTopicsProperties.class,
+		ItemCatalogProperties.class,
+		UserCacheProperties.class,
+		OrderBatchProperties.class,
+		OutboxProperties.class,
+		PaymentConsumerProperties.class,
+		ProcessedEventsProperties.class,
+		IdempotencyProperties.class,
+		ConflictRetryProperties.class,
+		OrderHttpCacheProperties.class,
+		OrderCacheProperties.class,
+		CacheInvalidationProperties.class,
+		OrderStatsProperties.class,
+		OrderPartitionsProperties.class,
+		OrderArchiveProperties.class
+})
 public class OrderServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,28 @@
+package com.internship.orderservice.actuator;
+
+import com.internship.orderservice.service.OrderStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Operator endpoint that recomputes the stats rollup from the orders, for example after orders were
+ * changed outside the service. A rebuild locks {@code order_daily_stats} and scans every order, so
+ * the endpoint is not exposed by default; add {@code orderstats} to
+ * {@code management.endpoints.web.exposure.include} where the management port is not public.
+ */
+@Component
+@Endpoint(id = "orderstats")
+@RequiredArgsConstructor
+public class OrderStatsEndpoint {
+
+    private final OrderStatsService orderStatsService;
+
+    @WriteOperation
+    public Map<String, Integer> rebuild() {
+        return Map.of("rows", orderStatsService.rebuild());
+    }
+}
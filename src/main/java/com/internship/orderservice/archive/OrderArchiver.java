@@ -0,0 +1,100 @@
+package com.internship.orderservice.archive;
+
+import com.internship.orderservice.config.OrderArchiveProperties;
+import com.internship.orderservice.entity.OrderStatus;
+import com.internship.orderservice.repository.OrderArchive;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves terminal orders older than {@code app.order-archive.min-age} into {@link OrderArchive}.
+ * <p>
+ * Every tick moves at most one chunk, on a scheduler thread of its own (see
+ * {@code spring.task.scheduling.pool.size}), so archiving never holds back other jobs and stops
+ * within one chunk on shutdown. The chunk size comes from a token bucket refilled at {@code rows-per-second}; each chunk spends
+ * the order and line rows it moved, so the rate holds however many lines the orders have.
+ * Instances running side by side skip each other's locked rows, each at its own rate.
+ */
+@Slf4j
+@Component
+public class OrderArchiver {
+
+    private static final List<OrderStatus> TERMINAL = Arrays.stream(OrderStatus.values())
+            .filter(OrderStatus::isTerminal)
+            .toList();
+
+    private final OrderArchive orderArchive;
+    private final OrderArchiveProperties properties;
+    private final Counter archivedOrders;
+    private final Counter archivedLines;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    private double allowance;
+    private long lastTick = System.nanoTime();
+
+    public OrderArchiver(OrderArchive orderArchive,
+                         OrderArchiveProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.orderArchive = orderArchive;
+        this.properties = properties;
+        this.archivedOrders = Counter.builder("order.archive.rows")
+                .description("Rows moved to the archive")
+                .tag("table", "orders")
+                .register(meterRegistry);
+        this.archivedLines = Counter.builder("order.archive.rows")
+                .description("Rows moved to the archive")
+                .tag("table", "order_items")
+                .register(meterRegistry);
+        Gauge.builder("order.archive.lag", lagSeconds, AtomicLong::get)
+                .description("How long the oldest order due for archiving has been due")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.order-archive.tick-interval:PT1S}")
+    public void tick() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        allowance = Math.min(properties.getChunkSize(),
+                allowance + (now - lastTick) / 1e9 * properties.getRowsPerSecond());
+        lastTick = now;
+        if (allowance < 1) {
+            return;
+        }
+        allowance -= archiveChunk((int) allowance).rows();
+    }
+
+    /**
+     * Moves up to {@code limit} due orders and refreshes the lag: zero once a chunk comes back
+     * short, otherwise the age of the oldest order still due.
+     */
+    public OrderArchive.Moved archiveChunk(int limit) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getMinAge());
+        OrderArchive.Moved moved;
+        try {
+            moved = orderArchive.moveChunk(TERMINAL, cutoff, limit);
+        } catch (DataAccessException e) {
+            log.warn("Archiving a chunk of {} orders failed", limit, e);
+            return new OrderArchive.Moved(0, 0);
+        }
+        archivedOrders.increment(moved.orders());
+        archivedLines.increment(moved.lines());
+        lagSeconds.set(moved.orders() < limit ? 0 : orderArchive.findOldestDue(TERMINAL, cutoff)
+                .map(oldest -> Duration.between(oldest, cutoff).toSeconds())
+                .orElse(0L));
+        return moved;
+    }
+}
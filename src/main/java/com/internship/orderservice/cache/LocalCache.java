@@ -0,0 +1,20 @@
+package com.internship.orderservice.cache;
+
+import java.util.Collection;
+
+/**
+ * An in-process cache that other instances can invalidate through
+ * {@link com.internship.orderservice.kafka.CacheInvalidationBus}.
+ */
+public interface LocalCache {
+
+    /**
+     * Prefix of this cache's keys on the invalidation topic, e.g. {@code order} for {@code order:42}.
+     */
+    String name();
+
+    /**
+     * Drops the entries of this instance only, without telling the other instances.
+     */
+    void evictLocally(Collection<String> keys);
+}
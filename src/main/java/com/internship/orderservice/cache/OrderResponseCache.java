@@ -0,0 +1,164 @@
+package com.internship.orderservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.internship.orderservice.config.OrderCacheProperties;
+import com.internship.orderservice.dto.response.OrderResponse;
+import com.internship.orderservice.kafka.CacheInvalidationBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * In-process cache of assembled {@link OrderResponse}s, keyed by order id.
+ * <p>
+ * Every entry carries the order version it was built from and is only served to a reader
+ * that has just seen the same version in the database, so a fill that raced with a write
+ * (e.g. a payment event committing between the read and the put) is never returned. Writers
+ * still invalidate their orders after commit to free the memory early, on this instance and,
+ * through {@link CacheInvalidationBus}, on the others. Eviction is by weight,
+ * one unit per order plus one per order line, and entries expire after {@code ttl} so the
+ * embedded user info does not outlive the user cache by much.
+ * <p>
+ * Caffeine's own statistics count a cached but outdated version as a hit, so the hit ratio is
+ * taken from {@code order.response-cache.lookups} (hit / stale / miss); size and evictions
+ * come from the {@code orders.responses} cache metrics.
+ */
+@Slf4j
+@Component
+public class OrderResponseCache implements LocalCache {
+
+    public static final String NAME = "order";
+
+    private final OrderCacheProperties properties;
+    private final ObjectProvider<CacheInvalidationBus> invalidationBus;
+    private final Cache<Long, OrderResponse> responses;
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+
+    public OrderResponseCache(OrderCacheProperties properties,
+                              ObjectProvider<CacheInvalidationBus> invalidationBus,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.invalidationBus = invalidationBus;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight())
+                .weigher((Long id, OrderResponse response) ->
+                        1 + (response.getItems() == null ? 0 : response.getItems().size()))
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "orders.responses");
+
+        this.hits = lookups(meterRegistry, "hit");
+        this.staleHits = lookups(meterRegistry, "stale");
+        this.misses = lookups(meterRegistry, "miss");
+    }
+
+    /**
+     * @return the cached response of {@code version}, or {@code null}
+     */
+    public OrderResponse get(Long id, long version) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        OrderResponse cached = responses.getIfPresent(id);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (cached.getVersion() != version) {
+            staleHits.increment();
+            responses.asMap().remove(id, cached);
+            return null;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    /**
+     * Caches the response unless a newer version of the order is cached already.
+     */
+    public void put(OrderResponse response) {
+        if (!properties.isEnabled() || response.getVersion() == null) {
+            return;
+        }
+        responses.asMap().merge(response.getId(), response,
+                (cached, fresh) -> fresh.getVersion() >= cached.getVersion() ? fresh : cached);
+    }
+
+    /**
+     * Warms the cache with a newly created order once the surrounding transaction commits.
+     */
+    public void putAfterCommit(OrderResponse response) {
+        if (properties.isWarmOnCreate()) {
+            afterCommit(() -> put(response));
+        }
+    }
+
+    /**
+     * Evicts the order here and on the other instances. Call after the change has committed.
+     */
+    public void invalidate(Long id) {
+        invalidateAll(List.of(id));
+    }
+
+    /**
+     * Like {@link #invalidate(Long)}, once the surrounding transaction commits, or right away without one.
+     */
+    public void invalidateAfterCommit(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            List<Long> copy = List.copyOf(ids);
+            afterCommit(() -> invalidateAll(copy));
+        }
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void evictLocally(Collection<String> keys) {
+        for (String key : keys) {
+            try {
+                responses.invalidate(Long.valueOf(key));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring invalidation of malformed order key '{}'", key);
+            }
+        }
+    }
+
+    private void invalidateAll(List<Long> ids) {
+        responses.invalidateAll(ids);
+        invalidationBus.ifAvailable(bus -> bus.publish(NAME, ids));
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("order.response-cache.lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
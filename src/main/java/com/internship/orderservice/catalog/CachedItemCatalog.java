@@ -0,0 +1,183 @@
+package com.internship.orderservice.catalog;
+
+import com.internship.orderservice.config.ItemCatalogProperties;
+import com.internship.orderservice.entity.Item;
+import com.internship.orderservice.repository.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process copy of the {@code items} table.
+ * <p>
+ * The whole catalog is loaded at startup into a {@link LongKeyedIndex} and kept fresh by a
+ * delta poll on {@code items.updated_at}; a periodic full reload picks up deleted rows.
+ * Lookups never hit the database, unknown ids are rejected straight from the index.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "app.item-catalog.enabled", havingValue = "true", matchIfMissing = true)
+public class CachedItemCatalog implements ItemCatalog {
+
+    private final ItemRepository itemRepository;
+    private final ItemCatalogProperties properties;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter fullReloads;
+    private final Counter deltaRefreshes;
+    private final Counter refreshFailures;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile LongKeyedIndex<Item> index = LongKeyedIndex.empty();
+    private LocalDateTime watermark;
+    private Instant lastFullReload = Instant.EPOCH;
+
+    public CachedItemCatalog(ItemRepository itemRepository,
+                             ItemCatalogProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+        this.properties = properties;
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.fullReloads = refreshCounter(meterRegistry, "full");
+        this.deltaRefreshes = refreshCounter(meterRegistry, "delta");
+        this.refreshFailures = Counter.builder("item.catalog.refresh.failures")
+                .description("Failed item catalog refreshes")
+                .register(meterRegistry);
+        Gauge.builder("item.catalog.size", this, catalog -> catalog.index.size())
+                .description("Items held in the catalog cache")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        reload();
+    }
+
+    @Override
+    public Map<Long, Item> findAllById(Collection<Long> ids) {
+        LongKeyedIndex<Item> snapshot = index;
+        Map<Long, Item> found = new HashMap<>(ids.size() * 2);
+        for (Long id : ids) {
+            Item item = id == null ? null : snapshot.get(id);
+            if (item != null) {
+                found.put(id, item);
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+        }
+        return found;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.item-catalog.refresh-interval:PT5S}",
+            initialDelayString = "${app.item-catalog.refresh-interval:PT5S}"
+    )
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            refreshFailures.increment();
+            log.warn("Item catalog refresh failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Applies the rows changed since the last refresh, or reloads everything once
+     * {@code full-reload-interval} has elapsed.
+     */
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            Duration sinceFullReload = Duration.between(lastFullReload, Instant.now());
+            if (watermark == null || sinceFullReload.compareTo(properties.getFullReloadInterval()) >= 0) {
+                reload();
+            } else {
+                applyDelta();
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void applyDelta() {
+        LocalDateTime latest = itemRepository.findLatestUpdate();
+        List<Item> changed = itemRepository.findUpdatedSince(watermark.minus(properties.getDeltaOverlap()));
+        deltaRefreshes.increment();
+
+        LongKeyedIndex<Item> current = index;
+        List<Item> modified = changed.stream()
+                .filter(item -> !sameItem(current.get(item.getId()), item))
+                .toList();
+        if (!modified.isEmpty()) {
+            LongKeyedIndex.Builder<Item> builder = current.toBuilder(modified.size());
+            modified.forEach(item -> builder.put(item.getId(), item));
+            index = builder.build();
+            log.info("Item catalog refreshed: {} item(s) changed", modified.size());
+        }
+        if (latest != null) {
+            watermark = latest;
+        }
+    }
+
+    /**
+     * Replaces the whole catalog with the current content of the {@code items} table.
+     */
+    public void reload() {
+        refreshLock.lock();
+        try {
+            LocalDateTime latest = itemRepository.findLatestUpdate();
+            List<Item> items = itemRepository.findAll();
+
+            LongKeyedIndex.Builder<Item> builder = LongKeyedIndex.builder(items.size());
+            items.forEach(item -> builder.put(item.getId(), item));
+            index = builder.build();
+
+            watermark = latest;
+            lastFullReload = Instant.now();
+            fullReloads.increment();
+            log.info("Item catalog loaded: {} item(s)", items.size());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private static boolean sameItem(Item cached, Item fresh) {
+        return cached != null
+                && Objects.equals(cached.getName(), fresh.getName())
+                && cached.getPrice() != null
+                && cached.getPrice().compareTo(fresh.getPrice()) == 0;
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String result) {
+        return Counter.builder("item.catalog.lookups")
+                .description("Item catalog lookups by result")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter refreshCounter(MeterRegistry registry, String type) {
+        return Counter.builder("item.catalog.refreshes")
+                .description("Item catalog refreshes by type")
+                .tag("type", type)
+                .register(registry);
+    }
+}
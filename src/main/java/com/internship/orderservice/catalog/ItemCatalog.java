@@ -0,0 +1,18 @@
+package com.internship.orderservice.catalog;
+
+import com.internship.orderservice.entity.Item;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Read access to the item catalog used by the order write paths.
+ */
+public interface ItemCatalog {
+
+    /**
+     * Returns the known items among {@code ids}, keyed by id. Unknown ids are simply absent
+     * from the result.
+     */
+    Map<Long, Item> findAllById(Collection<Long> ids);
+}
@@ -0,0 +1,148 @@
+package com.internship.orderservice.catalog;
+
+/**
+ * Immutable open-addressing hash index keyed by primitive {@code long}.
+ * <p>
+ * Keys are stored in a plain {@code long[]} and never boxed, so lookups allocate nothing.
+ * Instances are built once through {@link Builder} and published as a whole, which makes
+ * them safe to share between threads without locking.
+ */
+public final class LongKeyedIndex<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private static final LongKeyedIndex<?> EMPTY = new LongKeyedIndex<>(new long[MIN_CAPACITY], new Object[MIN_CAPACITY], 0);
+
+    private final long[] keys;
+    private final Object[] values;
+    private final int mask;
+    private final int size;
+
+    private LongKeyedIndex(long[] keys, Object[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> LongKeyedIndex<V> empty() {
+        return (LongKeyedIndex<V>) EMPTY;
+    }
+
+    public static <V> Builder<V> builder(int expectedSize) {
+        return new Builder<>(expectedSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = hash(key) & mask;
+        while (true) {
+            Object value = values[slot];
+            if (value == null) {
+                return null;
+            }
+            if (keys[slot] == key) {
+                return (V) value;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a builder pre-populated with the entries of this index.
+     */
+    @SuppressWarnings("unchecked")
+    public Builder<V> toBuilder(int additionalEntries) {
+        Builder<V> builder = new Builder<>(size + additionalEntries);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                builder.put(keys[i], (V) values[i]);
+            }
+        }
+        return builder;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    public static final class Builder<V> {
+
+        private long[] keys;
+        private Object[] values;
+        private int size;
+        private boolean built;
+
+        private Builder(int expectedSize) {
+            int capacity = capacityFor(Math.max(expectedSize, 0));
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+        }
+
+        public Builder<V> put(long key, V value) {
+            if (built) {
+                throw new IllegalStateException("Index has already been built");
+            }
+            if (value == null) {
+                throw new IllegalArgumentException("Null values are not supported");
+            }
+            if ((size + 1) * 2 > keys.length) {
+                resize(keys.length << 1);
+            }
+            if (insert(keys, values, key, value)) {
+                size++;
+            }
+            return this;
+        }
+
+        public LongKeyedIndex<V> build() {
+            built = true;
+            return new LongKeyedIndex<>(keys, values, size);
+        }
+
+        private void resize(int capacity) {
+            long[] newKeys = new long[capacity];
+            Object[] newValues = new Object[capacity];
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    insert(newKeys, newValues, keys[i], values[i]);
+                }
+            }
+            keys = newKeys;
+            values = newValues;
+        }
+
+        private static boolean insert(long[] keys, Object[] values, long key, Object value) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (values[slot] != null) {
+                if (keys[slot] == key) {
+                    values[slot] = value;
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            return true;
+        }
+    }
+}
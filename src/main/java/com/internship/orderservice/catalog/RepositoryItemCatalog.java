@@ -0,0 +1,30 @@
+package com.internship.orderservice.catalog;
+
+import com.internship.orderservice.entity.Item;
+import com.internship.orderservice.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Uncached catalog used when {@code app.item-catalog.enabled=false}: every lookup is a
+ * single {@code findAllById} query.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "app.item-catalog.enabled", havingValue = "false")
+public class RepositoryItemCatalog implements ItemCatalog {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public Map<Long, Item> findAllById(Collection<Long> ids) {
+        return itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+    }
+}
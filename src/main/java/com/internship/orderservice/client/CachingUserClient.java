@@ -0,0 +1,186 @@
+package com.internship.orderservice.client;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.internship.orderservice.config.UserCacheProperties;
+import com.internship.orderservice.dto.external.UserResponse;
+import com.internship.orderservice.exception.NotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Caching decorator around the user-service Feign client.
+ * <p>
+ * Entries are bounded by {@code app.user-cache.maximum-size} and expire after
+ * {@code ttl}; 404 answers are cached as absent for the shorter {@code negative-ttl}.
+ * Concurrent lookups of the same key share one outbound call. Other errors are not cached.
+ * <p>
+ * The outbound call runs on the thread that first missed the key, so it keeps the caller's
+ * request context, and waiting callers park on a future instead of holding a map lock
+ * (which would pin virtual threads).
+ */
+@Component
+@Primary
+@ConditionalOnProperty(value = "app.user-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachingUserClient implements UserClient {
+
+    private final UserClient delegate;
+    private final AsyncCache<Long, Optional<UserResponse>> usersById;
+    private final AsyncCache<Long, Optional<UserResponse>> usersByCredentialsId;
+
+    @Autowired
+    public CachingUserClient(@Qualifier(UserClient.FEIGN_QUALIFIER) UserClient delegate,
+                             UserCacheProperties properties,
+                             MeterRegistry meterRegistry) {
+        this(delegate, properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    public CachingUserClient(UserClient delegate,
+                             UserCacheProperties properties,
+                             MeterRegistry meterRegistry,
+                             Ticker ticker) {
+        this.delegate = delegate;
+        this.usersById = buildCache(properties, ticker);
+        this.usersByCredentialsId = buildCache(properties, ticker);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "user-client.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByCredentialsId, "user-client.by-credentials-id");
+    }
+
+    @Override
+    public UserResponse getByUserId(Long id) {
+        return load(usersById, id, delegate::getByUserId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+    }
+
+    @Override
+    public UserResponse getByCredentialsId(Long credentialsId) {
+        return load(usersByCredentialsId, credentialsId, this::loadByCredentialsId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+    }
+
+    /**
+     * Serves cached users directly and fetches only the missing ones with one bulk call.
+     * Ids absent from the bulk answer are cached as not found.
+     */
+    @Override
+    public List<UserResponse> getByUserIds(Collection<Long> ids) {
+        List<UserResponse> result = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            CompletableFuture<Optional<UserResponse>> cached = usersById.getIfPresent(id);
+            if (cached == null) {
+                missing.add(id);
+            } else {
+                join(cached).ifPresent(result::add);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, UserResponse> fetched = new HashMap<>();
+        List<UserResponse> loaded = delegate.getByUserIds(missing);
+        if (loaded != null) {
+            loaded.stream()
+                    .filter(user -> user != null && user.getId() != null)
+                    .forEach(user -> fetched.put(user.getId(), user));
+        }
+        for (Long id : missing) {
+            UserResponse user = fetched.get(id);
+            usersById.put(id, CompletableFuture.completedFuture(Optional.ofNullable(user)));
+            if (user != null) {
+                result.add(user);
+            }
+        }
+        return result;
+    }
+
+    private UserResponse loadByCredentialsId(Long credentialsId) {
+        UserResponse user = delegate.getByCredentialsId(credentialsId);
+        if (user != null && user.getId() != null) {
+            usersById.put(user.getId(), CompletableFuture.completedFuture(Optional.of(user)));
+        }
+        return user;
+    }
+
+    private static Optional<UserResponse> load(AsyncCache<Long, Optional<UserResponse>> cache,
+                                               Long key,
+                                               Function<Long, UserResponse> loader) {
+        CompletableFuture<Optional<UserResponse>> placeholder = new CompletableFuture<>();
+        CompletableFuture<Optional<UserResponse>> future = cache.get(key, (k, executor) -> placeholder);
+        if (future == placeholder) {
+            try {
+                placeholder.complete(Optional.ofNullable(loader.apply(key)));
+            } catch (NotFoundException e) {
+                placeholder.complete(Optional.empty());
+            } catch (Throwable e) {
+                // anything left uncompleted would block every later caller for this key
+                placeholder.completeExceptionally(e);
+            }
+        }
+        return join(future);
+    }
+
+    private static Optional<UserResponse> join(CompletableFuture<Optional<UserResponse>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static AsyncCache<Long, Optional<UserResponse>> buildCache(UserCacheProperties properties, Ticker ticker) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new PositiveNegativeExpiry(properties.getTtl(), properties.getNegativeTtl()))
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync();
+    }
+
+    private record PositiveNegativeExpiry(Duration ttl, Duration negativeTtl)
+            implements Expiry<Long, Optional<UserResponse>> {
+
+        @Override
+        public long expireAfterCreate(Long key, Optional<UserResponse> value, long currentTime) {
+            return value.isPresent() ? ttl.toNanos() : negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<UserResponse> value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<UserResponse> value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.internship.orderservice.client;
+
+import com.internship.orderservice.dto.external.UserResponse;
+import com.internship.orderservice.exception.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Loads the users of many orders at once.
+ * <p>
+ * Ids are de-duplicated and fetched with one {@link UserClient#getByUserIds} call. If the bulk
+ * endpoint is unavailable the lookups fan out in parallel on {@code userLookupExecutor}.
+ * Users that do not exist are absent from the result, matching the single-order read path.
+ */
+@Slf4j
+@Component
+public class UserBatchLoader {
+
+    private final UserClient userClient;
+    private final Executor userLookupExecutor;
+
+    public UserBatchLoader(UserClient userClient,
+                           @Qualifier("userLookupExecutor") Executor userLookupExecutor) {
+        this.userClient = userClient;
+        this.userLookupExecutor = userLookupExecutor;
+    }
+
+    public Map<Long, UserResponse> loadUsers(Collection<Long> userIds) {
+        Set<Long> distinct = new LinkedHashSet<>(userIds);
+        distinct.remove(null);
+        if (distinct.isEmpty()) {
+            return Map.of();
+        }
+
+        List<UserResponse> users;
+        try {
+            users = userClient.getByUserIds(distinct);
+        } catch (RuntimeException ex) {
+            log.warn("Bulk user lookup failed ({}), falling back to {} parallel call(s)",
+                    ex.getMessage(), distinct.size());
+            return fanOut(distinct);
+        }
+
+        Map<Long, UserResponse> byId = new HashMap<>();
+        if (users != null) {
+            users.stream()
+                    .filter(Objects::nonNull)
+                    .filter(user -> user.getId() != null)
+                    .forEach(user -> byId.put(user.getId(), user));
+        }
+        return byId;
+    }
+
+    private Map<Long, UserResponse> fanOut(Set<Long> userIds) {
+        Map<Long, CompletableFuture<UserResponse>> futures = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            futures.put(userId, CompletableFuture.supplyAsync(() -> getOrNull(userId), userLookupExecutor));
+        }
+
+        Map<Long, UserResponse> byId = new HashMap<>();
+        try {
+            futures.forEach((userId, future) -> {
+                UserResponse user = future.join();
+                if (user != null) {
+                    byId.put(userId, user);
+                }
+            });
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        return byId;
+    }
+
+    private UserResponse getOrNull(Long userId) {
+        try {
+            return userClient.getByUserId(userId);
+        } catch (NotFoundException e) {
+            return null;
+        }
+    }
+}
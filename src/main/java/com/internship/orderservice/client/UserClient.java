@@ -5,17 +5,34 @@ import com.internship.orderservice.dto.external.UserResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(
         name = "user-service",
         url = "${external.user-service.url}",
-        configuration = FeignClientConfig.class
+        configuration = FeignClientConfig.class,
+        qualifiers = UserClient.FEIGN_QUALIFIER,
+        primary = false
 )
 public interface UserClient {
 
+    /**
+     * Qualifier of the raw Feign client; the unqualified {@code UserClient} may be a caching decorator.
+     */
+    String FEIGN_QUALIFIER = "userServiceFeignClient";
+
     @GetMapping("/api/users/{id}")
     UserResponse getByUserId(@PathVariable("id") Long id);
 
     @GetMapping("/api/users/by-credentials-id/{credentialsId}")
     UserResponse getByCredentialsId(@PathVariable("credentialsId") Long credentialsId);
+
+    /**
+     * Bulk lookup; users that do not exist are simply missing from the result.
+     */
+    @GetMapping("/api/users/by-ids")
+    List<UserResponse> getByUserIds(@RequestParam("ids") Collection<Long> ids);
 }
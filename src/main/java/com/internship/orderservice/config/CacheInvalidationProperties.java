@@ -0,0 +1,27 @@
+package com.internship.orderservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache-invalidation")
+public class CacheInvalidationProperties {
+
+    /**
+     * Invalidations of the same key within this window are published once.
+     */
+    private Duration coalesceWindow = Duration.ofMillis(50);
+    /**
+     * Every instance consumes with its own group, {@code <prefix>-<instance id>}, so each one sees every message.
+     * The groups never commit offsets, so the broker drops a group once its instance is gone.
+     */
+    private String groupPrefix = "order-service-invalidations";
+    /**
+     * How long invalidations stay on the topic; a new instance starts with empty caches and never reads old ones.
+     */
+    private Duration retention = Duration.ofHours(1);
+}
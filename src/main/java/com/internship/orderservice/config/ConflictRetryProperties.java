@@ -0,0 +1,21 @@
+package com.internship.orderservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.conflict-retry")
+public class ConflictRetryProperties {
+
+    /**
+     * Attempts including the first one.
+     */
+    private int maxAttempts = 4;
+    private Duration initialBackoff = Duration.ofMillis(10);
+    private double multiplier = 2.0;
+    private Duration maxBackoff = Duration.ofMillis(200);
+}
@@ -0,0 +1,30 @@
+package com.internship.orderservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * How long a completed response is replayed for its key.
+     */
+    private Duration window = Duration.ofHours(24);
+    /**
+     * After this, a call that never completed (e.g. the instance died) no longer blocks its key.
+     */
+    private Duration inProgressTimeout = Duration.ofSeconds(30);
+    /**
+     * How long a duplicate waits for the first call before answering 409.
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    private long cacheSize = 10_000;
+    private Duration cacheTtl = Duration.ofMinutes(10);
+    private int purgeBatchSize = 5_000;
+    private Duration purgeInterval = Duration.ofMinutes(10);
+}
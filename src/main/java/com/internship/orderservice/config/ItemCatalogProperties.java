@@ -0,0 +1,18 @@
+package com.internship.orderservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.item-catalog")
+public class ItemCatalogProperties {
+
+    private boolean enabled = true;
+    private Duration refreshInterval = Duration.ofSeconds(5);
+    private Duration fullReloadInterval = Duration.ofMinutes(10);
+    private Duration deltaOverlap = Duration.ofSeconds(30);
+}
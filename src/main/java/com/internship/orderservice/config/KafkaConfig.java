@@ -1,5 +1,10 @@
 package com.internship.orderservice.config;
 
+import com.internship.orderservice.kafka.codec.EventDeserializer;
+import com.internship.orderservice.kafka.codec.EventFormat;
+import com.internship.orderservice.kafka.codec.EventSerializer;
+import com.internship.orderservice.kafka.codec.OrderEventCodec;
+import com.internship.orderservice.kafka.codec.PaymentEventCodec;
 import com.internship.orderservice.kafka.dto.OrderEvent;
 import com.internship.orderservice.kafka.dto.PaymentEvent;
 import lombok.RequiredArgsConstructor;
@@ -8,8 +13,11 @@ import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
@@ -17,8 +25,12 @@ import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.ExponentialBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -30,14 +42,24 @@ public class KafkaConfig {
 
     private final KafkaProperties springKafkaProps;
     private final KafkaTopicsProperties topicsProps;
+    private final PaymentConsumerProperties paymentConsumerProps;
+    private final Environment environment;
 
     @Bean
     public ProducerFactory<String, OrderEvent> orderEventProducerFactory() {
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, springKafkaProps.getBootstrapServers());
+        String compressionType = springKafkaProps.getProducer().getCompressionType();
+        if (compressionType != null) {
+            props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        }
+
+        if (topicsProps.getEventFormat() == EventFormat.BINARY) {
+            return new DefaultKafkaProducerFactory<>(props,
+                    new StringSerializer(), new EventSerializer<>(new OrderEventCodec()));
+        }
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-
         return new DefaultKafkaProducerFactory<>(props);
     }
 
@@ -46,6 +68,38 @@ public class KafkaConfig {
         return new KafkaTemplate<>(orderEventProducerFactory());
     }
 
+    @Bean
+    public KafkaTemplate<String, String> invalidationKafkaTemplate() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, springKafkaProps.getBootstrapServers());
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props,
+                new StringSerializer(), new StringSerializer()));
+    }
+
+    /**
+     * Broadcast consumption of cache invalidations: the group id is set per instance on the listener,
+     * and a new instance starts from the latest offset since its caches start empty. Offsets are
+     * never committed, not even on assignment, so no group outlives its instance on the broker.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> invalidationKafkaListenerContainerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, springKafkaProps.getBootstrapServers());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new StringDeserializer()));
+        factory.setBatchListener(true);
+        // MANUAL without acknowledging: the container never commits
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAssignmentCommitOption(ContainerProperties.AssignmentCommitOption.NEVER);
+        return factory;
+    }
+
     @Bean
     public ConsumerFactory<String, PaymentEvent> paymentEventConsumerFactory() {
 
@@ -53,14 +107,18 @@ public class KafkaConfig {
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, springKafkaProps.getBootstrapServers());
         props.put(ConsumerConfig.GROUP_ID_CONFIG, topicsProps.getConsumerGroup());
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, springKafkaProps.getConsumer().getAutoOffsetReset());
+        Integer maxPollRecords = springKafkaProps.getConsumer().getMaxPollRecords();
+        if (maxPollRecords != null) {
+            props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        }
 
-        JsonDeserializer<PaymentEvent> valueDeserializer = new JsonDeserializer<>(PaymentEvent.class, false);
-        valueDeserializer.addTrustedPackages("*");
+        JsonDeserializer<PaymentEvent> jsonDeserializer = new JsonDeserializer<>(PaymentEvent.class, false);
+        jsonDeserializer.addTrustedPackages("*");
 
         return new DefaultKafkaConsumerFactory<>(
                 props,
                 new StringDeserializer(),
-                valueDeserializer
+                new ErrorHandlingDeserializer<>(new EventDeserializer<>(new PaymentEventCodec(), jsonDeserializer))
         );
     }
 
@@ -69,6 +127,32 @@ public class KafkaConfig {
         ConcurrentKafkaListenerContainerFactory<String, PaymentEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(paymentEventConsumerFactory());
+        if (paymentConsumerProps.getMode() == PaymentConsumerProperties.Mode.PARALLEL) {
+            // records are acknowledged from the lanes; offsets are committed only once contiguous
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+            factory.getContainerProperties().setAsyncAcks(true);
+        } else {
+            factory.setBatchListener(true);
+        }
+        // PaymentEventsProcessor skips bad events itself and throws only when the database is in the
+        // way, so the poll is redelivered until it goes through instead of being handed to a recoverer
+        factory.setCommonErrorHandler(new DefaultErrorHandler(paymentRedeliveryBackOff()));
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor listenerExecutor = new SimpleAsyncTaskExecutor("payment-listener-");
+            listenerExecutor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(listenerExecutor);
+        }
         return factory;
     }
+
+    /**
+     * Unbounded: neither attempts nor elapsed time are limited.
+     */
+    @Bean
+    public ExponentialBackOff paymentRedeliveryBackOff() {
+        ExponentialBackOff backOff = new ExponentialBackOff(
+                paymentConsumerProps.getRedeliveryBackoff().toMillis(), 2.0);
+        backOff.setMaxInterval(paymentConsumerProps.getMaxRedeliveryBackoff().toMillis());
+        return backOff;
+    }
 }
@@ -2,6 +2,7 @@ package com.internship.orderservice.config;
 
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
@@ -12,6 +13,7 @@ import org.springframework.kafka.core.KafkaAdmin;
 public class KafkaTopicsConfig {
 
     private final KafkaTopicsProperties topics;
+    private final CacheInvalidationProperties cacheInvalidation;
 
     @Bean
     public KafkaAdmin.NewTopics appTopics() {
@@ -27,6 +29,16 @@ public class KafkaTopicsConfig {
                 .replicas(1)
                 .build();
 
-        return new KafkaAdmin.NewTopics(orders, payments);
+        // compacted, since only the latest invalidation per key matters, and expired after a short retention
+        NewTopic invalidations = TopicBuilder
+                .name(topics.getInvalidationsTopic())
+                .partitions(1)
+                .replicas(1)
+                .config(TopicConfig.CLEANUP_POLICY_CONFIG,
+                        TopicConfig.CLEANUP_POLICY_COMPACT + "," + TopicConfig.CLEANUP_POLICY_DELETE)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(cacheInvalidation.getRetention().toMillis()))
+                .build();
+
+        return new KafkaAdmin.NewTopics(orders, payments, invalidations);
     }
 }
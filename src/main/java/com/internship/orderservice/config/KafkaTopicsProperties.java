@@ -1,5 +1,6 @@
 package com.internship.orderservice.config;
 
+import com.internship.orderservice.kafka.codec.EventFormat;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -11,5 +12,7 @@ public class KafkaTopicsProperties {
 
     private String ordersTopic;
     private String paymentsTopic;
+    private String invalidationsTopic;
     private String consumerGroup;
+    private EventFormat eventFormat = EventFormat.JSON;
 }
@@ -0,0 +1,31 @@
+package com.internship.orderservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.order-archive")
+public class OrderArchiveProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Terminal orders created longer ago than this are moved to the archive.
+     */
+    private Duration minAge = Duration.ofDays(90);
+
+    /**
+     * Most orders moved by one statement.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Target rate of moved order and line rows, summed over both tables.
+     */
+    private int rowsPerSecond = 2000;
+    private Duration tickInterval = Duration.ofSeconds(1);
+}
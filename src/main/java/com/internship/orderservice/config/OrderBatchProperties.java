@@ -0,0 +1,14 @@
+package com.internship.orderservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.order-batch")
+public class OrderBatchProperties {
+
+    private int maxSize = 5_000;
+    private int chunkSize = 500;
+}
@@ -0,0 +1,27 @@
+package com.internship.orderservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.order-cache")
+public class OrderCacheProperties {
+
+    private boolean enabled = true;
+    /**
+     * Upper bound of the cache weight; an entry weighs one plus its number of order lines.
+     */
+    private long maximumWeight = 200_000;
+    /**
+     * Bounds how long the embedded user info can lag behind user-service.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+    /**
+     * Put the response of a newly created order into the cache once its transaction commits.
+     */
+    private boolean warmOnCreate = true;
+}
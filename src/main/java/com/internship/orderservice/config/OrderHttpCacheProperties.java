@@ -0,0 +1,18 @@
+package com.internship.orderservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.http-cache")
+public class OrderHttpCacheProperties {
+
+    /**
+     * Cache-Control max-age for orders in a terminal status; other orders are always revalidated.
+     */
+    private Duration terminalMaxAge = Duration.ofDays(1);
+}
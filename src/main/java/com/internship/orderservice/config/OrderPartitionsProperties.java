@@ -0,0 +1,19 @@
+package com.internship.orderservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.order-partitions")
+public class OrderPartitionsProperties {
+
+    /**
+     * Months after the current one that must already have partitions.
+     */
+    private int monthsAhead = 3;
+    private Duration maintenanceInterval = Duration.ofHours(6);
+}
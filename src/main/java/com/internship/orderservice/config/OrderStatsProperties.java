@@ -0,0 +1,16 @@
+package com.internship.orderservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.order-stats")
+public class OrderStatsProperties {
+
+    /**
+     * Longest range of days one stats request may cover.
+     */
+    private int maxDays = 366;
+}
@@ -0,0 +1,22 @@
+package com.internship.orderservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    private Duration pollInterval = Duration.ofMillis(200);
+    private int batchSize = 200;
+    private int maxInFlightBatches = 4;
+    private Duration lease = Duration.ofSeconds(30);
+    private Duration retention = Duration.ofHours(24);
+    private int purgeBatchSize = 5_000;
+    private Duration lagRefreshInterval = Duration.ofSeconds(10);
+    private Duration purgeInterval = Duration.ofMinutes(1);
+}
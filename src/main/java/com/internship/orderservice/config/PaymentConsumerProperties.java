@@ -0,0 +1,31 @@
+package com.internship.orderservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.kafka.payments-consumer")
+public class PaymentConsumerProperties {
+
+    /**
+     * BATCH applies a whole poll in one transaction; PARALLEL fans records out to lanes keyed by orderId.
+     */
+    private Mode mode = Mode.BATCH;
+    private int lanes = 8;
+    private int laneQueueCapacity = 500;
+    /**
+     * Wait before a poll, or a lane's record, that failed for a reason other than its events is
+     * applied again; doubles up to {@link #maxRedeliveryBackoff} and never gives up.
+     */
+    private Duration redeliveryBackoff = Duration.ofSeconds(1);
+    private Duration maxRedeliveryBackoff = Duration.ofSeconds(30);
+
+    public enum Mode {
+        BATCH,
+        PARALLEL
+    }
+}
@@ -0,0 +1,19 @@
+package com.internship.orderservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.processed-payment-events")
+public class ProcessedEventsProperties {
+
+    private int retentionDays = 7;
+    private int partitionsAhead = 3;
+    private long recentCacheSize = 100_000;
+    private Duration recentCacheTtl = Duration.ofHours(1);
+    private Duration maintenanceInterval = Duration.ofHours(1);
+}
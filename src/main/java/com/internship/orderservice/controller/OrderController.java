@@ -1,14 +1,31 @@
 package com.internship.orderservice.controller;
 
+import com.internship.orderservice.config.OrderHttpCacheProperties;
+import com.internship.orderservice.dto.request.BatchOrderRequest;
 import com.internship.orderservice.dto.request.OrderRequest;
+import com.internship.orderservice.dto.response.BatchOrderResponse;
+import com.internship.orderservice.dto.response.OrderDailyStatsResponse;
 import com.internship.orderservice.dto.response.OrderResponse;
 import com.internship.orderservice.entity.OrderStatus;
+import com.internship.orderservice.idempotency.IdempotentResult;
+import com.internship.orderservice.idempotency.OrderCreationIdempotency;
+import com.internship.orderservice.paging.CursorPage;
+import com.internship.orderservice.repository.OrderVersion;
+import com.internship.orderservice.service.OrderExportService;
 import com.internship.orderservice.service.OrderService;
+import com.internship.orderservice.service.OrderStatsService;
 import com.internship.orderservice.validation.Create;
 import com.internship.orderservice.validation.Update;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -22,9 +39,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -33,16 +54,29 @@ import java.util.List;
 @Validated
 public class OrderController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final OrderStatsService orderStatsService;
+    private final OrderCreationIdempotency orderCreationIdempotency;
+    private final OrderHttpCacheProperties httpCacheProperties;
 
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(
             @RequestHeader("X-User-Id") Long credentialsId,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) @Size(min = 1, max = 128) String idempotencyKey,
             @RequestBody @Validated(Create.class) OrderRequest request
     ) {
 
         request.setUserId(credentialsId);
-        OrderResponse resp = orderService.createOrder(request);
+        IdempotentResult<OrderResponse> result = idempotencyKey == null
+                ? new IdempotentResult<>(orderService.createOrder(request), false)
+                : orderCreationIdempotency.createOnce(credentialsId, idempotencyKey, request,
+                        () -> orderService.createOrder(request));
+        OrderResponse resp = result.value();
 
         URI location = ServletUriComponentsBuilder
                 .fromCurrentRequest()
@@ -50,25 +84,122 @@ public class OrderController {
                 .buildAndExpand(resp.getId())
                 .toUri();
 
-        return ResponseEntity.created(location).body(resp);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.created(location);
+        if (result.replayed()) {
+            builder.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return builder.body(resp);
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id) {
-        OrderResponse response = orderService.getOrderById(id);
+    @PostMapping("/batch")
+    public ResponseEntity<BatchOrderResponse> createOrders(
+            @RequestHeader("X-User-Id") Long credentialsId,
+            @RequestBody @Valid BatchOrderRequest request
+    ) {
+        BatchOrderResponse response = orderService.createOrders(request.getOrders(), credentialsId);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Conditional GET: the ETag is the order version, checked against {@code If-None-Match} with a
+     * primary-key lookup before the order lines are read or the user is fetched. Orders in a
+     * terminal status are cacheable for {@code app.http-cache.terminal-max-age}, others must be
+     * revalidated.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id, ServletWebRequest webRequest) {
+        OrderVersion current = orderService.getOrderVersion(id);
+        if (webRequest.checkNotModified(eTag(current.version()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag(current.version()))
+                    .cacheControl(cacheControl(current.status()))
+                    .build();
+        }
+
+        OrderResponse response = orderService.getOrderById(id, current.version());
+        return ResponseEntity.ok()
+                .eTag(eTag(response.getVersion()))
+                .cacheControl(cacheControl(OrderStatus.valueOf(response.getStatus())))
+                .body(response);
+    }
+
     @GetMapping("/by-ids")
     public ResponseEntity<List<OrderResponse>> getOrdersByIds(@RequestParam @NotEmpty List<Long> ids) {
         List<OrderResponse> responses = orderService.getOrdersByIds(ids);
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * Keyset-paginated listing ordered by creation date. When more orders follow, the cursor
+     * for the next page is returned in the {@value #NEXT_CURSOR_HEADER} header.
+     */
     @GetMapping("/by-statuses")
-    public ResponseEntity<List<OrderResponse>> getOrdersByStatuses(@RequestParam @NotEmpty List<OrderStatus> statuses) {
-        List<OrderResponse> responses = orderService.getOrdersByStatuses(statuses);
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<OrderResponse>> getOrdersByStatuses(
+            @RequestParam @NotEmpty List<OrderStatus> statuses,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit
+    ) {
+        return pageResponse(orderService.getOrdersByStatuses(statuses, cursor, limit));
+    }
+
+    /**
+     * A user's orders, newest first, optionally only those in {@code statuses}. Paged like
+     * {@code /by-statuses}.
+     */
+    @GetMapping("/by-user/{userId}")
+    public ResponseEntity<List<OrderResponse>> getOrdersByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) List<OrderStatus> statuses,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit
+    ) {
+        return pageResponse(orderService.getOrdersByUser(userId, statuses, cursor, limit));
+    }
+
+    /**
+     * Same as {@code /by-user/{userId}} for the user behind {@code X-User-Id}.
+     */
+    @GetMapping("/mine")
+    public ResponseEntity<List<OrderResponse>> getMyOrders(
+            @RequestHeader("X-User-Id") Long credentialsId,
+            @RequestParam(required = false) List<OrderStatus> statuses,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit
+    ) {
+        return pageResponse(orderService.getMyOrders(credentialsId, statuses, cursor, limit));
+    }
+
+    /**
+     * Streams matching orders as newline-delimited JSON, one order per line, for
+     * {@code from <= creationDate < to}. The export runs on the MVC async executor and
+     * never holds the full result in memory.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @NotEmpty List<OrderStatus> statuses,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        StreamingResponseBody body = out -> orderExportService.exportOrders(statuses, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Order count and total per creation day and current status for {@code from <= day < to},
+     * served from the rollup table. Without {@code statuses} every status is included.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<OrderDailyStatsResponse>> getDailyStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<OrderStatus> statuses
+    ) {
+        return ResponseEntity.ok(orderStatsService.getDailyStats(from, to, statuses));
     }
 
     @PutMapping("/{id}")
@@ -91,4 +222,22 @@ public class OrderController {
     ) {
         orderService.deleteOrder(id, credentialsId);
     }
+
+    private static ResponseEntity<List<OrderResponse>> pageResponse(CursorPage<OrderResponse> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    private CacheControl cacheControl(OrderStatus status) {
+        return status.isTerminal()
+                ? CacheControl.maxAge(httpCacheProperties.getTerminalMaxAge()).cachePrivate()
+                : CacheControl.noCache().cachePrivate();
+    }
 }
@@ -0,0 +1,25 @@
+package com.internship.orderservice.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Orders are validated one by one by the service, so a single invalid order
+ * is reported in its own result instead of rejecting the whole batch.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchOrderRequest {
+
+    @NotEmpty(message = "Batch must contain at least one order")
+    private List<OrderRequest> orders;
+}
@@ -0,0 +1,23 @@
+package com.internship.orderservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderDailyStatsResponse {
+
+    private LocalDate day;
+    private String status;
+    private long orderCount;
+    private BigDecimal totalAmount;
+}
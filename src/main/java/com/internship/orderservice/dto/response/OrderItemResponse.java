@@ -6,6 +6,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.math.BigDecimal;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,4 +18,5 @@ public class OrderItemResponse {
     private Long itemId;
     private String itemName;
     private Integer quantity;
+    private BigDecimal unitPrice;
 }
@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -25,4 +26,8 @@ public class OrderResponse {
     private UserInfoResponse user;
 
     private String paymentId;
+
+    private Long version;
+
+    private BigDecimal totalAmount;
 }
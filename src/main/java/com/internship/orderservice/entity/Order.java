@@ -1,8 +1,10 @@
 package com.internship.orderservice.entity;
 
 
+import com.internship.orderservice.money.MinorUnitsConverter;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -10,12 +12,15 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.PartitionKey;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -31,23 +36,45 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
+    /**
+     * Changes must follow {@link OrderStatus#sources()}; outside of a versioned entity update they go
+     * through {@link com.internship.orderservice.repository.OrderStatusTransitions}.
+     */
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private OrderStatus status;
 
-    @Column(name = "creation_date", nullable = false)
+    /**
+     * Partition key of {@code orders} by month; never changes once the order is written.
+     */
+    @PartitionKey
+    @Column(name = "creation_date", nullable = false, updatable = false)
     private LocalDateTime creationDate;
 
     @Column(name = "payment_id")
     private String paymentId;
 
+    /**
+     * Sum of the lines' {@link OrderItem#getUnitPrice()} times quantity, in minor units; recomputed
+     * whenever the lines change.
+     */
+    @Convert(converter = MinorUnitsConverter.class)
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private Long totalAmount = 0L;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<OrderItem> orderItems = new ArrayList<>();
@@ -1,6 +1,8 @@
 package com.internship.orderservice.entity;
 
+import com.internship.orderservice.money.MinorUnitsConverter;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -8,12 +10,16 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.PartitionKey;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "order_items")
@@ -25,7 +31,8 @@ import lombok.Setter;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -33,10 +40,25 @@ public class OrderItem {
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
+    /**
+     * Copy of the order's {@link Order#getCreationDate()}: the partition key of {@code order_items}
+     * and part of its key to {@code orders}.
+     */
+    @PartitionKey
+    @Column(name = "order_creation_date", nullable = false, updatable = false)
+    private LocalDateTime orderCreationDate;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
 
     @Column(name = "quantity", nullable = false)
     private Integer quantity;
+
+    /**
+     * Price of the item when the line was written, in minor units.
+     */
+    @Convert(converter = MinorUnitsConverter.class)
+    @Column(name = "unit_price", nullable = false, precision = 12, scale = 2)
+    private Long unitPrice;
 }
@@ -1,5 +1,10 @@
 package com.internship.orderservice.entity;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
 
     PENDING,
@@ -9,5 +14,40 @@ public enum OrderStatus {
     SHIPPED,
     DELIVERED,
     CANCELLED,
-    FAILED
+    FAILED;
+
+    /**
+     * Transition table: for each target status, the statuses an order may move to it from.
+     * PENDING is only ever set on creation.
+     */
+    private static final Map<OrderStatus, Set<OrderStatus>> SOURCES = new EnumMap<>(OrderStatus.class);
+
+    static {
+        SOURCES.put(PENDING, EnumSet.noneOf(OrderStatus.class));
+        SOURCES.put(PAYMENT_FAILED, EnumSet.of(PENDING, PAYMENT_FAILED));
+        SOURCES.put(PAID, EnumSet.of(PENDING, PAYMENT_FAILED));
+        SOURCES.put(PROCESSING, EnumSet.of(PENDING, PAID));
+        SOURCES.put(SHIPPED, EnumSet.of(PROCESSING));
+        SOURCES.put(DELIVERED, EnumSet.of(SHIPPED));
+        SOURCES.put(CANCELLED, EnumSet.of(PENDING, PAYMENT_FAILED, PAID, PROCESSING));
+        SOURCES.put(FAILED, EnumSet.of(PENDING, PAYMENT_FAILED, PAID, PROCESSING, SHIPPED));
+    }
+
+    /**
+     * @return the statuses an order may be in to move to this one
+     */
+    public Set<OrderStatus> sources() {
+        return SOURCES.get(this);
+    }
+
+    public boolean canMoveFrom(OrderStatus current) {
+        return SOURCES.get(this).contains(current);
+    }
+
+    /**
+     * @return {@code true} when no transition leads away from this status
+     */
+    public boolean isTerminal() {
+        return SOURCES.values().stream().noneMatch(sources -> sources.contains(this));
+    }
 }
@@ -0,0 +1,8 @@
+package com.internship.orderservice.exception;
+
+public class IllegalStatusTransitionException extends RuntimeException {
+
+    public IllegalStatusTransitionException(String message) {
+        super(message);
+    }
+}
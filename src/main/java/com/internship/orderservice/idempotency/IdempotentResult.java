@@ -0,0 +1,7 @@
+package com.internship.orderservice.idempotency;
+
+/**
+ * @param replayed {@code true} when the value was stored by an earlier call with the same key
+ */
+public record IdempotentResult<T>(T value, boolean replayed) {
+}
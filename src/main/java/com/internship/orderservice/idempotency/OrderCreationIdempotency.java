@@ -0,0 +1,242 @@
+package com.internship.orderservice.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.internship.orderservice.config.IdempotencyProperties;
+import com.internship.orderservice.dto.request.OrderRequest;
+import com.internship.orderservice.dto.response.OrderResponse;
+import com.internship.orderservice.exception.IdempotencyConflictException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs order creation at most once per {@code Idempotency-Key} and user.
+ * <p>
+ * The first call claims the key in {@code idempotency_keys} and stores the response in the same
+ * transaction that creates the order. Repeats within {@code app.idempotency.window} get the stored
+ * response back without calling user-service or reading items; recent responses are also kept in
+ * a small in-memory cache. Duplicates arriving while the first call is still running wait for it,
+ * on its future when it runs in this instance and by polling the table otherwise. A key reused
+ * with a different request body is rejected.
+ */
+@Slf4j
+@Component
+public class OrderCreationIdempotency {
+
+    private static final String CLAIM_SQL = """
+            insert into idempotency_keys (credentials_id, idempotency_key, fingerprint, locked_until, expires_at)
+            values (?, ?, ?, now() + (? * interval '1 millisecond'), now() + (? * interval '1 millisecond'))
+            on conflict (credentials_id, idempotency_key) do update
+               set fingerprint = excluded.fingerprint,
+                   response = null,
+                   locked_until = excluded.locked_until,
+                   expires_at = excluded.expires_at
+             where idempotency_keys.expires_at < now()
+                or (idempotency_keys.response is null and idempotency_keys.locked_until < now())
+            """;
+    private static final String FIND_SQL = """
+            select fingerprint, response from idempotency_keys
+             where credentials_id = ? and idempotency_key = ? and expires_at >= now()
+            """;
+    private static final String COMPLETE_SQL = """
+            update idempotency_keys set response = ?, locked_until = null
+             where credentials_id = ? and idempotency_key = ?
+            """;
+    private static final String RELEASE_SQL = """
+            delete from idempotency_keys
+             where credentials_id = ? and idempotency_key = ? and response is null
+            """;
+    private static final String PURGE_SQL = """
+            delete from idempotency_keys
+             where ctid in (select ctid from idempotency_keys where expires_at < now() limit ?)
+            """;
+
+    private static final long MAX_POLL_MILLIS = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final Cache<String, Stored> recent;
+    private final ConcurrentMap<String, CompletableFuture<OrderResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public OrderCreationIdempotency(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    IdempotencyProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recent, "idempotency.orders");
+    }
+
+    public IdempotentResult<OrderResponse> createOnce(Long credentialsId,
+                                                      String key,
+                                                      OrderRequest request,
+                                                      Supplier<OrderResponse> create) {
+        String fingerprint = fingerprint(request);
+        String cacheKey = credentialsId + ":" + key;
+
+        Stored cached = recent.getIfPresent(cacheKey);
+        if (cached != null) {
+            return replay(cached, fingerprint);
+        }
+
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        long pollMillis = 10;
+        while (true) {
+            if (claim(credentialsId, key, fingerprint)) {
+                return new IdempotentResult<>(runFirst(credentialsId, key, cacheKey, fingerprint, create), false);
+            }
+
+            Stored existing = find(credentialsId, key);
+            if (existing == null) {
+                continue; // released or expired in between, try to claim again
+            }
+            if (existing.response() != null) {
+                recent.put(cacheKey, existing);
+                return replay(existing, fingerprint);
+            }
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw reused();
+            }
+
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                throw new IdempotencyConflictException(
+                        "A request with this Idempotency-Key is still in progress");
+            }
+            CompletableFuture<OrderResponse> running = inFlight.get(cacheKey);
+            if (running != null) {
+                awaitQuietly(running, remainingNanos);
+            } else {
+                sleep(Math.min(pollMillis, TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1));
+                pollMillis = Math.min(pollMillis * 2, MAX_POLL_MILLIS);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        int deleted = jdbcTemplate.update(PURGE_SQL, properties.getPurgeBatchSize());
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency key(s)", deleted);
+        }
+    }
+
+    private OrderResponse runFirst(Long credentialsId, String key, String cacheKey, String fingerprint,
+                                   Supplier<OrderResponse> create) {
+        CompletableFuture<OrderResponse> future = new CompletableFuture<>();
+        inFlight.put(cacheKey, future);
+        try {
+            OrderResponse response = transactionTemplate.execute(status -> {
+                OrderResponse created = create.get();
+                jdbcTemplate.update(COMPLETE_SQL, toJson(created), credentialsId, key);
+                return created;
+            });
+            recent.put(cacheKey, new Stored(fingerprint, toJson(response)));
+            future.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            jdbcTemplate.update(RELEASE_SQL, credentialsId, key);
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, future);
+        }
+    }
+
+    private boolean claim(Long credentialsId, String key, String fingerprint) {
+        return jdbcTemplate.update(CLAIM_SQL, credentialsId, key, fingerprint,
+                properties.getInProgressTimeout().toMillis(), properties.getWindow().toMillis()) == 1;
+    }
+
+    private Stored find(Long credentialsId, String key) {
+        List<Stored> rows = jdbcTemplate.query(FIND_SQL,
+                (rs, i) -> new Stored(rs.getString("fingerprint"), rs.getString("response")),
+                credentialsId, key);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private IdempotentResult<OrderResponse> replay(Stored stored, String fingerprint) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw reused();
+        }
+        try {
+            return new IdempotentResult<>(objectMapper.readValue(stored.response(), OrderResponse.class), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is not readable", e);
+        }
+    }
+
+    private String fingerprint(OrderRequest request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    private String toJson(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize OrderResponse " + response.getId(), e);
+        }
+    }
+
+    private static IdempotencyConflictException reused() {
+        return new IdempotencyConflictException("Idempotency-Key was already used for a different request");
+    }
+
+    private static void awaitQuietly(CompletableFuture<?> future, long timeoutNanos) {
+        try {
+            future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for the original request");
+        } catch (ExecutionException | TimeoutException e) {
+            // the outcome is re-read from the table
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for the original request");
+        }
+    }
+
+    private record Stored(String fingerprint, String response) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.internship.orderservice.kafka;
+
+import com.internship.orderservice.cache.LocalCache;
+import com.internship.orderservice.config.CacheInvalidationProperties;
+import com.internship.orderservice.config.KafkaTopicsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tells the other instances to drop entries of their {@link LocalCache}s.
+ * <p>
+ * Invalidations are collected in a set and flushed every {@code app.cache-invalidation.coalesce-window},
+ * so a burst of changes to one order yields one message. A message is keyed {@code <cache>:<id>} and
+ * carries the sender's instance id; the topic is compacted and keeps messages only for
+ * {@code app.cache-invalidation.retention}. Every instance listens with its own consumer group from
+ * the latest offset, without committing offsets, and skips its own messages.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "app.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationBus {
+
+    public static final String LISTENER_ID = "cache-invalidations";
+
+    private static final char SEPARATOR = ':';
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final String topic;
+    private final String groupId;
+    private final Map<String, LocalCache> caches = new HashMap<>();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Counter published;
+    private final Counter received;
+
+    public CacheInvalidationBus(@Qualifier("invalidationKafkaTemplate") KafkaTemplate<String, String> kafkaTemplate,
+                                KafkaTopicsProperties topics,
+                                CacheInvalidationProperties properties,
+                                List<LocalCache> caches,
+                                MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topics.getInvalidationsTopic();
+        this.groupId = properties.getGroupPrefix() + "-" + instanceId;
+        caches.forEach(cache -> this.caches.put(cache.name(), cache));
+        this.published = Counter.builder("cache.invalidations").tag("direction", "published").register(meterRegistry);
+        this.received = Counter.builder("cache.invalidations").tag("direction", "received").register(meterRegistry);
+    }
+
+    /**
+     * Queues invalidations for the next flush. Call after the change has committed.
+     */
+    public void publish(String cache, Collection<?> ids) {
+        for (Object id : ids) {
+            pending.add(cache + SEPARATOR + id);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache-invalidation.coalesce-window:PT0.05S}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // a key queued again while sending stays pending only if it arrived after the snapshot was removed
+        List<String> keys = new ArrayList<>(pending);
+        pending.removeAll(keys);
+        for (String key : keys) {
+            kafkaTemplate.send(topic, key, instanceId)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.warn("Could not publish invalidation of {}: {}", key, ex.getMessage());
+                        }
+                    });
+        }
+        published.increment(keys.size());
+    }
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            topics = "${app.kafka.invalidations-topic}",
+            groupId = "#{__listener.groupId}",
+            containerFactory = "invalidationKafkaListenerContainerFactory"
+    )
+    public void onInvalidations(List<ConsumerRecord<String, String>> records) {
+        Map<String, List<String>> keysByCache = new HashMap<>();
+        for (ConsumerRecord<String, String> record : records) {
+            String key = record.key();
+            int separator = key == null ? -1 : key.indexOf(SEPARATOR);
+            if (separator < 0 || instanceId.equals(record.value())) {
+                continue;
+            }
+            keysByCache.computeIfAbsent(key.substring(0, separator), name -> new ArrayList<>())
+                    .add(key.substring(separator + 1));
+        }
+        keysByCache.forEach((name, keys) -> {
+            LocalCache cache = caches.get(name);
+            if (cache == null) {
+                log.debug("No local cache '{}' for {} invalidation(s)", name, keys.size());
+                return;
+            }
+            cache.evictLocally(keys);
+            received.increment(keys.size());
+        });
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+}
@@ -0,0 +1,53 @@
+package com.internship.orderservice.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.orderservice.kafka.dto.OrderEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Writes {@link OrderEvent}s to {@code order_events_outbox} inside the caller's transaction,
+ * so an event exists exactly when its order was committed. {@link OrderEventsOutboxRelay}
+ * publishes the rows afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderEventsOutbox {
+
+    private static final String INSERT_SQL =
+            "insert into order_events_outbox (event_id, order_id, payload) values (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OrderEvent event) {
+        append(List.of(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(List<OrderEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.getEventId());
+            ps.setLong(2, event.getOrderId());
+            ps.setString(3, toJson(event));
+        });
+    }
+
+    private String toJson(OrderEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize OrderEvent " + event.getEventId(), e);
+        }
+    }
+}
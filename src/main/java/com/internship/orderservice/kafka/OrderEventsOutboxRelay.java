@@ -0,0 +1,212 @@
+package com.internship.orderservice.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.orderservice.config.OutboxProperties;
+import com.internship.orderservice.kafka.dto.OrderEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains {@code order_events_outbox} to Kafka.
+ * <p>
+ * A batch is claimed by leasing up to {@code batch-size} unsent rows with {@code FOR UPDATE SKIP LOCKED},
+ * so several instances share the work without blocking each other and no connection is held while
+ * publishing. At most {@code max-in-flight-batches} batches are published at a time; acknowledged rows
+ * are marked sent with one statement per batch. Failed rows keep their lease and are retried once it
+ * expires.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "app.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderEventsOutboxRelay {
+
+    private static final String CLAIM_SQL = """
+            update order_events_outbox o
+               set lease_until = now() + (? * interval '1 millisecond')
+             where o.id in (select id from order_events_outbox
+                             where sent_at is null
+                               and (lease_until is null or lease_until < now())
+                             order by id
+                             limit ?
+                             for update skip locked)
+            returning o.id, o.payload
+            """;
+    private static final String MARK_SENT_SQL =
+            "update order_events_outbox set sent_at = now(), lease_until = null where id = any(?)";
+    private static final String MARK_FAILED_SQL =
+            "update order_events_outbox set attempts = attempts + 1 where id = any(?)";
+    private static final String LAG_SQL = """
+            select count(*), coalesce(extract(epoch from now() - min(created_at)) * 1000, 0)
+              from order_events_outbox
+             where sent_at is null
+            """;
+    private static final String PURGE_SQL = """
+            delete from order_events_outbox
+             where id in (select id from order_events_outbox
+                           where sent_at < now() - (? * interval '1 millisecond')
+                           limit ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderEventsProducer producer;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+    private final Executor completionExecutor;
+
+    private final Semaphore inFlightBatches;
+    private final Counter published;
+    private final Counter publishFailures;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OrderEventsOutboxRelay(JdbcTemplate jdbcTemplate,
+                                  OrderEventsProducer producer,
+                                  ObjectMapper objectMapper,
+                                  OutboxProperties properties,
+                                  @Qualifier("applicationTaskExecutor") Executor completionExecutor,
+                                  MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.producer = producer;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.completionExecutor = completionExecutor;
+        this.inFlightBatches = new Semaphore(properties.getMaxInFlightBatches());
+
+        this.published = Counter.builder("order.outbox.published")
+                .description("Outbox events acknowledged by Kafka")
+                .register(meterRegistry);
+        this.publishFailures = Counter.builder("order.outbox.publish.failures")
+                .description("Outbox events that failed to publish and will be retried")
+                .register(meterRegistry);
+        Gauge.builder("order.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events not yet published")
+                .register(meterRegistry);
+        Gauge.builder("order.outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claims and publishes batches until the outbox is drained or the in-flight limit is reached.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT0.2S}")
+    public void relay() {
+        while (inFlightBatches.tryAcquire()) {
+            List<OutboxRow> batch;
+            try {
+                batch = claimBatch();
+            } catch (RuntimeException e) {
+                inFlightBatches.release();
+                log.warn("Could not claim outbox batch: {}", e.getMessage());
+                return;
+            }
+            if (batch.isEmpty()) {
+                inFlightBatches.release();
+                return;
+            }
+            publish(batch).whenComplete((ignored, ex) -> {
+                inFlightBatches.release();
+                if (ex != null) {
+                    log.warn("Outbox batch of {} could not be completed: {}", batch.size(), ex.getMessage());
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.lag-refresh-interval:PT10S}")
+    public void refreshLag() {
+        jdbcTemplate.query(LAG_SQL, rs -> {
+            pending.set(rs.getLong(1));
+            lagMillis.set(rs.getLong(2));
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval:PT1M}")
+    public void purgeSent() {
+        int deleted = jdbcTemplate.update(PURGE_SQL,
+                properties.getRetention().toMillis(), properties.getPurgeBatchSize());
+        if (deleted > 0) {
+            log.info("Purged {} sent outbox event(s)", deleted);
+        }
+    }
+
+    /**
+     * Lets in-flight batches finish so their rows are marked sent before shutdown.
+     */
+    @PreDestroy
+    public void awaitInFlight() throws InterruptedException {
+        int permits = properties.getMaxInFlightBatches();
+        if (inFlightBatches.tryAcquire(permits, 10, TimeUnit.SECONDS)) {
+            inFlightBatches.release(permits);
+        }
+    }
+
+    private List<OutboxRow> claimBatch() {
+        List<OutboxRow> rows = new ArrayList<>(jdbcTemplate.query(CLAIM_SQL,
+                (rs, i) -> new OutboxRow(rs.getLong("id"), rs.getString("payload")),
+                properties.getLease().toMillis(), properties.getBatchSize()));
+        rows.sort(Comparator.comparingLong(OutboxRow::id));
+        return rows;
+    }
+
+    private CompletableFuture<Void> publish(List<OutboxRow> batch) {
+        List<CompletableFuture<Boolean>> sends = new ArrayList<>(batch.size());
+        for (OutboxRow row : batch) {
+            sends.add(send(row));
+        }
+        return CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                .thenRunAsync(() -> {
+                    List<Long> sent = new ArrayList<>(batch.size());
+                    List<Long> failed = new ArrayList<>();
+                    for (int i = 0; i < batch.size(); i++) {
+                        (sends.get(i).join() ? sent : failed).add(batch.get(i).id());
+                    }
+                    updateByIds(MARK_SENT_SQL, sent);
+                    updateByIds(MARK_FAILED_SQL, failed);
+                    published.increment(sent.size());
+                    publishFailures.increment(failed.size());
+                }, completionExecutor);
+    }
+
+    private CompletableFuture<Boolean> send(OutboxRow row) {
+        try {
+            OrderEvent event = objectMapper.readValue(row.payload(), OrderEvent.class);
+            return producer.send(event).handle((result, ex) -> ex == null);
+        } catch (Exception e) {
+            log.error("Outbox event {} could not be published: {}", row.id(), e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    private void updateByIds(String sql, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(sql, ps -> {
+            Array array = ps.getConnection().createArrayOf("bigint", ids.toArray());
+            ps.setArray(1, array);
+        });
+    }
+
+    private record OutboxRow(long id, String payload) {
+    }
+}
@@ -6,8 +6,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -17,22 +20,22 @@ public class OrderEventsProducer {
     private final KafkaTemplate<String, OrderEvent> orderEventKafkaTemplate;
     private final KafkaTopicsProperties topics;
 
-    public void send(OrderEvent event) {
+    public CompletableFuture<SendResult<String, OrderEvent>> send(OrderEvent event) {
         String key = event.getOrderId() == null ? null : String.valueOf(event.getOrderId());
 
-        orderEventKafkaTemplate
+        return orderEventKafkaTemplate
                 .send(topics.getOrdersTopic(), key, event)
                 .whenComplete((res, ex) -> {
                     if (ex != null) {
                         log.error("Failed to send OrderEvent {}: {}", event, ex.getMessage(), ex);
                     } else if (res != null && res.getRecordMetadata() != null) {
-                        log.info("OrderEvent sent: topic={}, partition={}, offset={}, key={}",
+                        log.debug("OrderEvent sent: topic={}, partition={}, offset={}, key={}",
                                 res.getRecordMetadata().topic(),
                                 res.getRecordMetadata().partition(),
                                 res.getRecordMetadata().offset(),
                                 key);
                     } else {
-                        log.info("OrderEvent sent (no metadata available), key={}", key);
+                        log.debug("OrderEvent sent (no metadata available), key={}", key);
                     }
                 });
     }
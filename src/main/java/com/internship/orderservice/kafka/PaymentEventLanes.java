@@ -0,0 +1,70 @@
+package com.internship.orderservice.kafka;
+
+import com.internship.orderservice.config.PaymentConsumerProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed set of single-threaded lanes. Work for the same orderId always goes to the same lane,
+ * so it runs in submission order while different orders run concurrently. A full lane blocks
+ * the submitter, which throttles the listener thread instead of buffering without bound.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "app.kafka.payments-consumer.mode", havingValue = "parallel")
+public class PaymentEventLanes {
+
+    private final ThreadPoolExecutor[] lanes;
+
+    public PaymentEventLanes(PaymentConsumerProperties properties) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("payment-lane-");
+        this.lanes = new ThreadPoolExecutor[properties.getLanes()];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(properties.getLaneQueueCapacity()), threadFactory,
+                    PaymentEventLanes::waitForCapacity);
+        }
+    }
+
+    public void submit(Long orderId, Runnable task) {
+        lanes[laneOf(orderId)].execute(task);
+    }
+
+    int laneOf(Long orderId) {
+        return orderId == null ? 0 : Math.floorMod(Long.hashCode(orderId), lanes.length);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Payment lane did not drain in time; unacknowledged records will be redelivered");
+                lane.shutdownNow();
+            }
+        }
+    }
+
+    private static void waitForCapacity(Runnable task, ThreadPoolExecutor lane) {
+        if (lane.isShutdown()) {
+            throw new RejectedExecutionException("Payment lane is shut down");
+        }
+        try {
+            lane.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a payment lane", e);
+        }
+    }
+}
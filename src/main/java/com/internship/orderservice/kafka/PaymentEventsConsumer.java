@@ -1,58 +1,46 @@
 package com.internship.orderservice.kafka;
 
-import com.internship.orderservice.entity.Order;
-import com.internship.orderservice.entity.OrderStatus;
 import com.internship.orderservice.kafka.dto.PaymentEvent;
-import com.internship.orderservice.kafka.dto.PaymentStatus;
-import com.internship.orderservice.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 @ConditionalOnProperty(value = "app.kafka.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnProperty(value = "app.kafka.payments-consumer.mode", havingValue = "batch", matchIfMissing = true)
 public class PaymentEventsConsumer {
 
-    private final OrderRepository orderRepository;
+    private final PaymentEventsProcessor paymentEventsProcessor;
 
+    /**
+     * Receives a whole poll; offsets are committed once the batch has been applied.
+     * Records that could not be deserialized arrive with a {@code null} value and are skipped.
+     */
     @KafkaListener(
             topics = "${app.kafka.payments-topic}",
             containerFactory = "paymentEventKafkaListenerContainerFactory"
     )
-    @Transactional
-    public void onPaymentEvent(PaymentEvent event) {
-        log.info("Received PaymentEvent: {}", event);
-
-        Order order = orderRepository.findById(event.getOrderId()).orElse(null);
-        if (order == null) {
-            log.warn("Order not found: {}", event.getOrderId());
-            return;
-        }
-
-        if (event.getPaymentId() != null && event.getPaymentId().equals(order.getPaymentId())) {
-            log.info("Payment already applied for order {} (paymentId={})", order.getId(), event.getPaymentId());
-            return;
-        }
-        if (order.getStatus() == OrderStatus.PAID && event.getStatus() == PaymentStatus.SUCCESS) {
-            log.info("Order {} already PAID, skip duplicate SUCCESS", order.getId());
-            return;
-        }
-
-        if (event.getStatus() == PaymentStatus.SUCCESS) {
-            order.setStatus(OrderStatus.PAID);
-            order.setPaymentId(event.getPaymentId());
-        } else if (event.getStatus() == PaymentStatus.FAILED) {
-            order.setStatus(OrderStatus.PAYMENT_FAILED);
-            order.setPaymentId(event.getPaymentId());
+    public void onPaymentEvents(List<ConsumerRecord<String, PaymentEvent>> records) {
+        List<PaymentEvent> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, PaymentEvent> record : records) {
+            if (record.value() == null) {
+                log.error("Skipping undecodable PaymentEvent at {}-{}@{}",
+                        record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            events.add(record.value());
         }
 
-        orderRepository.save(order);
-        log.info("Order {} updated: status={}, paymentId={}", order.getId(), order.getStatus(), order.getPaymentId());
+        int updated = paymentEventsProcessor.process(events);
+        log.info("Applied {} payment event(s) from a poll of {}: {} order(s) updated",
+                events.size(), records.size(), updated);
     }
 }
-
@@ -0,0 +1,78 @@
+package com.internship.orderservice.kafka;
+
+import com.internship.orderservice.kafka.dto.PaymentEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.backoff.BackOff;
+import org.springframework.util.backoff.BackOffExecution;
+
+import java.util.List;
+
+/**
+ * Parallel counterpart of {@link PaymentEventsConsumer}: every record is handed to the lane of its
+ * orderId and acknowledged once applied. With async acks the container commits offsets only up to
+ * the lowest offset below which every record has been acknowledged.
+ * <p>
+ * {@link PaymentEventsProcessor} skips bad events itself, so a record it throws on is retried in its
+ * lane with the redelivery backoff; later records of the same lane wait behind it. A lane shut down
+ * while retrying leaves the record unacknowledged, and it is redelivered after the rebalance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "app.kafka.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnProperty(value = "app.kafka.payments-consumer.mode", havingValue = "parallel")
+public class PaymentEventsLaneConsumer {
+
+    private final PaymentEventLanes lanes;
+    private final PaymentEventsProcessor paymentEventsProcessor;
+    private final BackOff paymentRedeliveryBackOff;
+
+    @KafkaListener(
+            topics = "${app.kafka.payments-topic}",
+            containerFactory = "paymentEventKafkaListenerContainerFactory"
+    )
+    public void onPaymentEvent(ConsumerRecord<String, PaymentEvent> record, Acknowledgment ack) {
+        PaymentEvent event = record.value();
+        if (event == null) {
+            log.error("Skipping undecodable PaymentEvent at {}-{}@{}",
+                    record.topic(), record.partition(), record.offset());
+            ack.acknowledge();
+            return;
+        }
+        lanes.submit(event.getOrderId(), () -> {
+            if (applyUntilDone(event)) {
+                ack.acknowledge();
+            }
+        });
+    }
+
+    /**
+     * @return {@code false} if the lane was interrupted before the event could be applied
+     */
+    private boolean applyUntilDone(PaymentEvent event) {
+        BackOffExecution backOff = paymentRedeliveryBackOff.start();
+        while (true) {
+            try {
+                paymentEventsProcessor.process(List.of(event));
+                return true;
+            } catch (RuntimeException e) {
+                long wait = backOff.nextBackOff();
+                log.warn("PaymentEvent {} for order {} failed, retrying in {} ms: {}",
+                        event.getEventId(), event.getOrderId(), wait, e.getMessage());
+                try {
+                    Thread.sleep(wait);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    log.warn("Leaving PaymentEvent {} unacknowledged for redelivery", event.getEventId());
+                    return false;
+                }
+            }
+        }
+    }
+}
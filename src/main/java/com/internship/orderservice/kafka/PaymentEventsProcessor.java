@@ -0,0 +1,176 @@
+package com.internship.orderservice.kafka;
+
+import com.internship.orderservice.cache.OrderResponseCache;
+import com.internship.orderservice.entity.OrderStatus;
+import com.internship.orderservice.kafka.dto.PaymentEvent;
+import com.internship.orderservice.kafka.dto.PaymentStatus;
+import com.internship.orderservice.repository.OrderStatusTransitions;
+import com.internship.orderservice.repository.OrderStatusTransitions.Outcome;
+import com.internship.orderservice.repository.OrderStatusTransitions.Transition;
+import com.internship.orderservice.retry.ConflictRetry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Applies a poll of {@link PaymentEvent}s to their orders.
+ * <p>
+ * Redelivered events are dropped by eventId through {@link ProcessedPaymentEvents} before any
+ * order is touched. The rest are applied in offset order through {@link OrderStatusTransitions}
+ * as one JDBC batch of conditional updates, in a single transaction together with the processed
+ * ids; each update sees the ones before it, so the result does not depend on how the events were
+ * split into polls. Events the transition table does not allow, such
+ * as a failed payment for an order that is already PAID, are logged and leave the order as is.
+ * Changed orders are invalidated in {@link OrderResponseCache} after commit.
+ * A transaction that loses a race (deadlock, lock timeout) is retried by {@link ConflictRetry}.
+ * If the poll breaks a constraint, the events are retried one by one and only the ones that break
+ * it themselves are skipped, so a single bad event cannot hold back the rest of the poll. Any other
+ * failure (database down, conflicts that keep coming back, missing partitions) is rethrown, so the
+ * listener container redelivers the poll instead of committing its offsets.
+ */
+@Slf4j
+@Component
+public class PaymentEventsProcessor {
+
+    /**
+     * {@code check_violation}; the tables events write to have no check constraints, but Postgres
+     * also raises it for a row no partition accepts, which says nothing about the event.
+     */
+    private static final String NO_PARTITION_FOR_ROW = "23514";
+
+    private final ProcessedPaymentEvents processedPaymentEvents;
+    private final OrderStatusTransitions orderStatusTransitions;
+    private final ConflictRetry conflictRetry;
+    private final OrderResponseCache orderResponseCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public PaymentEventsProcessor(ProcessedPaymentEvents processedPaymentEvents,
+                                  OrderStatusTransitions orderStatusTransitions,
+                                  ConflictRetry conflictRetry,
+                                  OrderResponseCache orderResponseCache,
+                                  PlatformTransactionManager transactionManager) {
+        this.processedPaymentEvents = processedPaymentEvents;
+        this.orderStatusTransitions = orderStatusTransitions;
+        this.conflictRetry = conflictRetry;
+        this.orderResponseCache = orderResponseCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @param events events in offset order
+     * @return number of orders whose status was changed
+     * @throws org.springframework.dao.DataAccessException if the events could not be applied for a
+     *         reason other than the events themselves; none of them may be acknowledged
+     */
+    public int process(List<PaymentEvent> events) {
+        List<PaymentEvent> complete = new ArrayList<>(events.size());
+        for (PaymentEvent event : events) {
+            if (event.getOrderId() == null || event.getStatus() == null) {
+                log.warn("Skipping incomplete PaymentEvent: {}", event);
+                continue;
+            }
+            complete.add(event);
+        }
+        List<PaymentEvent> fresh = processedPaymentEvents.dropRecentlySeen(complete);
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return conflictRetry.run("payment-events", fresh.size() + " event(s)", () -> apply(fresh));
+        } catch (DataIntegrityViolationException e) {
+            if (!isBadEvent(e)) {
+                throw e;
+            }
+            log.warn("Batch of {} payment event(s) failed, applying one by one: {}", fresh.size(), e.getMessage());
+        }
+
+        int updated = 0;
+        for (PaymentEvent event : fresh) {
+            try {
+                updated += conflictRetry.run("payment-events", event.getOrderId(), () -> apply(List.of(event)));
+            } catch (DataIntegrityViolationException e) {
+                if (!isBadEvent(e)) {
+                    throw e;
+                }
+                log.error("Skipping PaymentEvent {} for order {}: {}",
+                        event.getEventId(), event.getOrderId(), e.getMessage());
+            }
+        }
+        return updated;
+    }
+
+    private int apply(List<PaymentEvent> events) {
+        Integer updated = transactionTemplate.execute(status -> {
+            Set<String> recorded = processedPaymentEvents.recordNew(events.stream()
+                    .map(PaymentEvent::getEventId)
+                    .filter(Objects::nonNull)
+                    .toList());
+            rememberAfterCommit(recorded);
+
+            // every event goes through the transition table in offset order, so a later event of
+            // the same order is checked against the status the earlier one left behind
+            List<Transition> transitions = new ArrayList<>(events.size());
+            for (PaymentEvent event : events) {
+                if (event.getEventId() != null && !recorded.contains(event.getEventId())) {
+                    continue;
+                }
+                OrderStatus target = event.getStatus() == PaymentStatus.SUCCESS
+                        ? OrderStatus.PAID
+                        : OrderStatus.PAYMENT_FAILED;
+                transitions.add(new Transition(event.getOrderId(), target, event.getPaymentId()));
+            }
+            if (transitions.isEmpty()) {
+                return 0;
+            }
+
+            Set<Long> changed = new LinkedHashSet<>();
+            for (Outcome outcome : orderStatusTransitions.applyAll(transitions)) {
+                Transition transition = outcome.transition();
+                switch (outcome.result()) {
+                    case APPLIED -> changed.add(transition.orderId());
+                    case UNCHANGED -> log.debug("Payment already applied for order {} (paymentId={})",
+                            transition.orderId(), transition.paymentId());
+                    case REJECTED -> log.warn("Ignoring payment {} for order {}: cannot move from {} to {}",
+                            transition.paymentId(), transition.orderId(), outcome.current(), transition.target());
+                    case NOT_FOUND -> log.warn("Order not found: {}", transition.orderId());
+                }
+            }
+            orderResponseCache.invalidateAfterCommit(changed);
+            return changed.size();
+        });
+        return updated == null ? 0 : updated;
+    }
+
+    /**
+     * Whether the event itself breaks a constraint, such as a paymentId longer than its column.
+     */
+    private static boolean isBadEvent(DataIntegrityViolationException e) {
+        return !(NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLException sqlException
+                && NO_PARTITION_FOR_ROW.equals(sqlException.getSQLState()));
+    }
+
+    private void rememberAfterCommit(Set<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                processedPaymentEvents.remember(eventIds);
+            }
+        });
+    }
+}
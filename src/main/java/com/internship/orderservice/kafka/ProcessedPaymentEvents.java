@@ -0,0 +1,186 @@
+package com.internship.orderservice.kafka;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.internship.orderservice.config.ProcessedEventsProperties;
+import com.internship.orderservice.kafka.dto.PaymentEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Remembers which {@link PaymentEvent}s have been applied, keyed by eventId.
+ * <p>
+ * A bounded in-memory cache of recently applied ids drops most redeliveries before any
+ * transaction starts. {@code processed_payment_events} is the source of truth: ids are
+ * recorded with an insert-on-conflict in the same transaction that applies the event, so an
+ * id is stored exactly when its changes are committed. The table is partitioned by day and
+ * expired days are dropped as whole partitions. Ids recorded on a day without a partition land in
+ * the default partition and are moved into the day's partition when it is created.
+ */
+@Slf4j
+@Component
+public class ProcessedPaymentEvents {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final String PARTITION_PREFIX = "processed_payment_events_p";
+
+    /*
+     * The primary key has to contain the partition key, so ON CONFLICT only sees the current day;
+     * the NOT EXISTS covers ids recorded on earlier days still within retention.
+     */
+    private static final String RECORD_SQL = """
+            insert into processed_payment_events (event_id)
+            select id from unnest(?::varchar[]) as id
+             where not exists (select 1 from processed_payment_events p
+                                where p.event_id = id and p.processed_on >= current_date - ?)
+            on conflict do nothing
+            returning event_id
+            """;
+    private static final String DEFAULT_PARTITION = "processed_payment_events_default";
+    /*
+     * A partition cannot be attached while the default partition holds rows of its range, so they
+     * are moved into the new table first; one statement, so it is all or nothing.
+     */
+    private static final String CREATE_PARTITION_SQL = """
+            do $$
+            begin
+                if to_regclass('%1$s') is null then
+                    create table %1$s (like processed_payment_events including defaults);
+                    with moved as (delete from %4$s
+                                    where processed_on >= '%2$s' and processed_on < '%3$s'
+                                returning *)
+                    insert into %1$s select * from moved;
+                    alter table processed_payment_events attach partition %1$s
+                        for values from ('%2$s') to ('%3$s');
+                end if;
+            end $$
+            """;
+    private static final String PARTITIONS_SQL = """
+            select c.relname from pg_inherits i
+              join pg_class c on c.oid = i.inhrelid
+              join pg_class p on p.oid = i.inhparent
+             where p.relname = 'processed_payment_events'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProcessedEventsProperties properties;
+    private final Cache<String, Boolean> recent;
+    private final Counter cacheDuplicates;
+    private final Counter storeDuplicates;
+
+    public ProcessedPaymentEvents(JdbcTemplate jdbcTemplate,
+                                  ProcessedEventsProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(properties.getRecentCacheSize())
+                .expireAfterWrite(properties.getRecentCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recent, "payment-events.recent");
+
+        this.cacheDuplicates = Counter.builder("order.payment-events.duplicates")
+                .tag("source", "cache")
+                .register(meterRegistry);
+        this.storeDuplicates = Counter.builder("order.payment-events.duplicates")
+                .tag("source", "store")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drops events whose id was applied recently by this instance. Events without an id are kept.
+     */
+    public List<PaymentEvent> dropRecentlySeen(List<PaymentEvent> events) {
+        List<PaymentEvent> fresh = new ArrayList<>(events.size());
+        for (PaymentEvent event : events) {
+            if (event.getEventId() != null && recent.getIfPresent(event.getEventId()) != null) {
+                cacheDuplicates.increment();
+                log.debug("Dropping redelivered PaymentEvent {}", event.getEventId());
+                continue;
+            }
+            fresh.add(event);
+        }
+        return fresh;
+    }
+
+    /**
+     * Records the ids in the caller's transaction.
+     *
+     * @return the ids that had not been recorded before; the others are duplicates
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<String> recordNew(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> recorded = new HashSet<>(jdbcTemplate.query(RECORD_SQL,
+                ps -> {
+                    Array ids = ps.getConnection().createArrayOf("varchar", eventIds.toArray());
+                    ps.setArray(1, ids);
+                    ps.setInt(2, properties.getRetentionDays());
+                },
+                (rs, i) -> rs.getString(1)));
+        storeDuplicates.increment(eventIds.size() - recorded.size());
+        return recorded;
+    }
+
+    /**
+     * Adds committed ids to the in-memory cache.
+     */
+    public void remember(Collection<String> eventIds) {
+        for (String eventId : eventIds) {
+            recent.put(eventId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Creates partitions for the coming days and drops the ones past retention, together with
+     * expired rows of the default partition.
+     */
+    @Scheduled(fixedDelayString = "${app.processed-payment-events.maintenance-interval:PT1H}")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now();
+        for (int day = -1; day <= properties.getPartitionsAhead(); day++) {
+            LocalDate from = today.plusDays(day);
+            jdbcTemplate.execute(CREATE_PARTITION_SQL.formatted(partitionName(from), from, from.plusDays(1),
+                    DEFAULT_PARTITION));
+        }
+
+        LocalDate oldestKept = today.minusDays(properties.getRetentionDays());
+        int expired = jdbcTemplate.update("delete from " + DEFAULT_PARTITION + " where processed_on < ?", oldestKept);
+        if (expired > 0) {
+            log.info("Deleted {} expired row(s) from {}", expired, DEFAULT_PARTITION);
+        }
+        for (String partition : jdbcTemplate.queryForList(PARTITIONS_SQL, String.class)) {
+            if (!partition.startsWith(PARTITION_PREFIX)) {
+                continue;
+            }
+            LocalDate day = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            if (day.isBefore(oldestKept)) {
+                jdbcTemplate.execute("drop table if exists " + partition);
+                log.info("Dropped expired partition {}", partition);
+            }
+        }
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,100 @@
+package com.internship.orderservice.kafka.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Reads the primitives written by {@link BinaryWriter}. Truncated or malformed input
+ * is reported as a {@link SerializationException}.
+ */
+final class BinaryReader {
+
+    private final byte[] buf;
+    private int pos;
+
+    BinaryReader(byte[] buf) {
+        this.buf = buf;
+    }
+
+    int readByte() {
+        require(1);
+        return buf[pos++] & 0xFF;
+    }
+
+    long readVarLong() {
+        long raw = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            raw |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (raw >>> 1) ^ -(raw & 1);
+            }
+        }
+        throw new SerializationException("Malformed varint at offset " + pos);
+    }
+
+    int readVarInt() {
+        long value = readVarLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new SerializationException("Varint out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    byte[] readBytes() {
+        int length = readVarInt();
+        if (length < 0) {
+            throw new SerializationException("Negative length " + length);
+        }
+        require(length);
+        byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+        pos += length;
+        return bytes;
+    }
+
+    String readString() {
+        int length = readVarInt();
+        if (length < 0) {
+            throw new SerializationException("Negative length " + length);
+        }
+        require(length);
+        String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+        pos += length;
+        return value;
+    }
+
+    UUID readUuid() {
+        return new UUID(readFixedLong(), readFixedLong());
+    }
+
+    BigDecimal readDecimal() {
+        int scale = readVarInt();
+        return new BigDecimal(new BigInteger(readBytes()), scale);
+    }
+
+    void expectEnd() {
+        if (pos != buf.length) {
+            throw new SerializationException((buf.length - pos) + " trailing byte(s) after event");
+        }
+    }
+
+    private long readFixedLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buf[pos++] & 0xFF);
+        }
+        return value;
+    }
+
+    private void require(int bytes) {
+        if (pos + bytes > buf.length) {
+            throw new SerializationException("Event truncated at offset " + pos);
+        }
+    }
+}
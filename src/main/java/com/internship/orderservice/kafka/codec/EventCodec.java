@@ -0,0 +1,65 @@
+package com.internship.orderservice.kafka.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.util.UUID;
+
+/**
+ * Schema-versioned binary encoding of a Kafka event.
+ * <p>
+ * Layout: one version byte, one presence-flags byte, then the non-null fields in declaration
+ * order. Longs are zig-zag varints, decimals are scale + unscaled bytes, enums are varint
+ * ordinals and string ids that are canonical UUIDs take 16 bytes. Enum constants may only be
+ * appended; anything else requires a new {@link #VERSION}.
+ */
+public abstract class EventCodec<T> {
+
+    public static final int VERSION = 1;
+
+    public final byte[] encode(T event) {
+        BinaryWriter writer = new BinaryWriter(64);
+        writer.writeByte(VERSION);
+        write(event, writer);
+        return writer.toByteArray();
+    }
+
+    public final T decode(byte[] data) {
+        try {
+            BinaryReader reader = new BinaryReader(data);
+            int version = reader.readByte();
+            if (version != VERSION) {
+                throw new SerializationException("Unsupported event version " + version);
+            }
+            T event = read(reader);
+            reader.expectEnd();
+            return event;
+        } catch (SerializationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new SerializationException("Malformed event: " + e.getMessage(), e);
+        }
+    }
+
+    abstract void write(T event, BinaryWriter writer);
+
+    abstract T read(BinaryReader reader);
+
+    static boolean isSet(int flags, int flag) {
+        return (flags & flag) != 0;
+    }
+
+    /**
+     * Returns the UUID when {@code value} is its canonical lower-case form, so decoding gives back the same string.
+     */
+    static UUID asUuid(String value) {
+        if (value == null || value.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(value);
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.internship.orderservice.kafka.codec;
+
+/**
+ * Record header that tells consumers how the value is encoded.
+ */
+public final class EventContentTypes {
+
+    public static final String HEADER = "contentType";
+    public static final String BINARY_V1 = "application/vnd.order-service.event.v1+binary";
+    public static final String JSON = "application/json";
+
+    private EventContentTypes() {
+    }
+}
@@ -0,0 +1,62 @@
+package com.internship.orderservice.kafka.codec;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Kafka {@link Deserializer} accepting both encodings while producers migrate.
+ * <p>
+ * The {@link EventContentTypes#HEADER} header decides; records without it (e.g. from Spring's
+ * {@code JsonSerializer}) are treated as JSON when they start with <code>{</code> and as binary otherwise.
+ */
+public class EventDeserializer<T> implements Deserializer<T> {
+
+    private final EventCodec<T> codec;
+    private final Deserializer<T> jsonDeserializer;
+
+    public EventDeserializer(EventCodec<T> codec, Deserializer<T> jsonDeserializer) {
+        this.codec = codec;
+        this.jsonDeserializer = jsonDeserializer;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return isJson(data) ? jsonDeserializer.deserialize(topic, data) : codec.decode(data);
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        Header contentType = headers.lastHeader(EventContentTypes.HEADER);
+        if (contentType == null) {
+            return isJson(data) ? jsonDeserializer.deserialize(topic, headers, data) : codec.decode(data);
+        }
+        String value = new String(contentType.value(), StandardCharsets.UTF_8);
+        return EventContentTypes.BINARY_V1.equals(value)
+                ? codec.decode(data)
+                : jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+
+    private static boolean isJson(byte[] data) {
+        return data.length > 0 && data[0] == '{';
+    }
+}
@@ -0,0 +1,10 @@
+package com.internship.orderservice.kafka.codec;
+
+/**
+ * Wire format used when producing events. Consumers accept both, see {@link EventDeserializer}.
+ */
+public enum EventFormat {
+
+    JSON,
+    BINARY
+}
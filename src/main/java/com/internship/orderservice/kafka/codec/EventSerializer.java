@@ -0,0 +1,33 @@
+package com.internship.orderservice.kafka.codec;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kafka {@link Serializer} writing the binary encoding and tagging the record with
+ * {@link EventContentTypes#BINARY_V1}.
+ */
+public class EventSerializer<T> implements Serializer<T> {
+
+    private static final byte[] CONTENT_TYPE = EventContentTypes.BINARY_V1.getBytes(StandardCharsets.UTF_8);
+
+    private final EventCodec<T> codec;
+
+    public EventSerializer(EventCodec<T> codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(String topic, T data) {
+        return data == null ? null : codec.encode(data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, T data) {
+        headers.remove(EventContentTypes.HEADER);
+        headers.add(EventContentTypes.HEADER, CONTENT_TYPE);
+        return serialize(topic, data);
+    }
+}
@@ -0,0 +1,59 @@
+package com.internship.orderservice.kafka.codec;
+
+import com.internship.orderservice.kafka.dto.OrderEvent;
+
+import java.util.UUID;
+
+public final class OrderEventCodec extends EventCodec<OrderEvent> {
+
+    private static final int EVENT_ID = 1;
+    private static final int EVENT_ID_UUID = 1 << 1;
+    private static final int ORDER_ID = 1 << 2;
+    private static final int USER_ID = 1 << 3;
+    private static final int PAYMENT_AMOUNT = 1 << 4;
+
+    @Override
+    void write(OrderEvent event, BinaryWriter writer) {
+        UUID eventUuid = asUuid(event.getEventId());
+        int flags = (event.getEventId() != null ? EVENT_ID : 0)
+                | (eventUuid != null ? EVENT_ID_UUID : 0)
+                | (event.getOrderId() != null ? ORDER_ID : 0)
+                | (event.getUserId() != null ? USER_ID : 0)
+                | (event.getPaymentAmount() != null ? PAYMENT_AMOUNT : 0);
+        writer.writeByte(flags);
+
+        if (eventUuid != null) {
+            writer.writeUuid(eventUuid);
+        } else if (event.getEventId() != null) {
+            writer.writeString(event.getEventId());
+        }
+        if (event.getOrderId() != null) {
+            writer.writeVarLong(event.getOrderId());
+        }
+        if (event.getUserId() != null) {
+            writer.writeVarLong(event.getUserId());
+        }
+        if (event.getPaymentAmount() != null) {
+            writer.writeDecimal(event.getPaymentAmount());
+        }
+    }
+
+    @Override
+    OrderEvent read(BinaryReader reader) {
+        int flags = reader.readByte();
+        OrderEvent event = new OrderEvent();
+        if (isSet(flags, EVENT_ID)) {
+            event.setEventId(isSet(flags, EVENT_ID_UUID) ? reader.readUuid().toString() : reader.readString());
+        }
+        if (isSet(flags, ORDER_ID)) {
+            event.setOrderId(reader.readVarLong());
+        }
+        if (isSet(flags, USER_ID)) {
+            event.setUserId(reader.readVarLong());
+        }
+        if (isSet(flags, PAYMENT_AMOUNT)) {
+            event.setPaymentAmount(reader.readDecimal());
+        }
+        return event;
+    }
+}
@@ -0,0 +1,72 @@
+package com.internship.orderservice.kafka.codec;
+
+import com.internship.orderservice.kafka.dto.PaymentEvent;
+import com.internship.orderservice.kafka.dto.PaymentStatus;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.util.UUID;
+
+public final class PaymentEventCodec extends EventCodec<PaymentEvent> {
+
+    private static final PaymentStatus[] STATUSES = PaymentStatus.values();
+
+    private static final int EVENT_ID = 1;
+    private static final int EVENT_ID_UUID = 1 << 1;
+    private static final int ORDER_ID = 1 << 2;
+    private static final int PAYMENT_ID = 1 << 3;
+    private static final int PAYMENT_ID_UUID = 1 << 4;
+    private static final int STATUS = 1 << 5;
+
+    @Override
+    void write(PaymentEvent event, BinaryWriter writer) {
+        UUID eventUuid = asUuid(event.getEventId());
+        UUID paymentUuid = asUuid(event.getPaymentId());
+        int flags = (event.getEventId() != null ? EVENT_ID : 0)
+                | (eventUuid != null ? EVENT_ID_UUID : 0)
+                | (event.getOrderId() != null ? ORDER_ID : 0)
+                | (event.getPaymentId() != null ? PAYMENT_ID : 0)
+                | (paymentUuid != null ? PAYMENT_ID_UUID : 0)
+                | (event.getStatus() != null ? STATUS : 0);
+        writer.writeByte(flags);
+
+        if (eventUuid != null) {
+            writer.writeUuid(eventUuid);
+        } else if (event.getEventId() != null) {
+            writer.writeString(event.getEventId());
+        }
+        if (event.getOrderId() != null) {
+            writer.writeVarLong(event.getOrderId());
+        }
+        if (paymentUuid != null) {
+            writer.writeUuid(paymentUuid);
+        } else if (event.getPaymentId() != null) {
+            writer.writeString(event.getPaymentId());
+        }
+        if (event.getStatus() != null) {
+            writer.writeVarInt(event.getStatus().ordinal());
+        }
+    }
+
+    @Override
+    PaymentEvent read(BinaryReader reader) {
+        int flags = reader.readByte();
+        PaymentEvent event = new PaymentEvent();
+        if (isSet(flags, EVENT_ID)) {
+            event.setEventId(isSet(flags, EVENT_ID_UUID) ? reader.readUuid().toString() : reader.readString());
+        }
+        if (isSet(flags, ORDER_ID)) {
+            event.setOrderId(reader.readVarLong());
+        }
+        if (isSet(flags, PAYMENT_ID)) {
+            event.setPaymentId(isSet(flags, PAYMENT_ID_UUID) ? reader.readUuid().toString() : reader.readString());
+        }
+        if (isSet(flags, STATUS)) {
+            int ordinal = reader.readVarInt();
+            if (ordinal < 0 || ordinal >= STATUSES.length) {
+                throw new SerializationException("Unknown PaymentStatus ordinal " + ordinal);
+            }
+            event.setStatus(STATUSES[ordinal]);
+        }
+        return event;
+    }
+}
@@ -0,0 +1,21 @@
+package com.internship.orderservice.mapper;
+
+import com.internship.orderservice.money.Money;
+import org.mapstruct.Mapper;
+import org.mapstruct.Named;
+
+import java.math.BigDecimal;
+
+/**
+ * Turns minor-unit amounts of the entities into the decimal amounts of the API.
+ */
+@Mapper(componentModel = "spring")
+public interface MoneyMapper {
+
+    String MINOR_UNITS = "minorUnits";
+
+    @Named(MINOR_UNITS)
+    default BigDecimal toDecimal(Long minorUnits) {
+        return minorUnits == null ? null : Money.toDecimal(minorUnits);
+    }
+}
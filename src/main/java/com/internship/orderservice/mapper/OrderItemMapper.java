@@ -7,10 +7,11 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 
-@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+@Mapper(componentModel = "spring", uses = MoneyMapper.class, unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface OrderItemMapper {
 
     @Mapping(source = "item.id", target = "itemId")
     @Mapping(source = "item.name", target = "itemName")
+    @Mapping(source = "unitPrice", target = "unitPrice", qualifiedByName = MoneyMapper.MINOR_UNITS)
     OrderItemResponse toDto(OrderItem orderItem);
 }
@@ -10,7 +10,7 @@ import org.mapstruct.ReportingPolicy;
 
 @Mapper(
         componentModel = "spring",
-        uses = { OrderItemMapper.class, UserInfoMapper.class },
+        uses = { OrderItemMapper.class, UserInfoMapper.class, MoneyMapper.class },
         unmappedTargetPolicy = ReportingPolicy.IGNORE
 )
 public interface OrderMapper {
@@ -19,10 +19,13 @@ public interface OrderMapper {
     @Mapping(target = "status",         ignore = true)
     @Mapping(target = "creationDate",   ignore = true)
     @Mapping(target = "orderItems",     ignore = true)
+    @Mapping(target = "version",        ignore = true)
+    @Mapping(target = "totalAmount",    ignore = true)
     Order toEntity(OrderRequest request);
 
     @Mapping(source = "paymentId", target = "paymentId")
     @Mapping(source = "orderItems", target = "items")
+    @Mapping(source = "totalAmount", target = "totalAmount", qualifiedByName = MoneyMapper.MINOR_UNITS)
     OrderResponse toDto(Order order);
 
     @Mapping(source = "order.id",           target = "id")
@@ -32,5 +35,7 @@ public interface OrderMapper {
     @Mapping(source = "order.orderItems",   target = "items")
     @Mapping(source = "user",               target = "user")
     @Mapping(source = "order.paymentId",    target = "paymentId")
+    @Mapping(source = "order.version",      target = "version")
+    @Mapping(source = "order.totalAmount",  target = "totalAmount", qualifiedByName = MoneyMapper.MINOR_UNITS)
     OrderResponse toDto(Order order, UserResponse user);
 }
@@ -0,0 +1,53 @@
+package com.internship.orderservice.mapper;
+
+import com.internship.orderservice.dto.external.UserResponse;
+import com.internship.orderservice.dto.response.OrderItemResponse;
+import com.internship.orderservice.dto.response.OrderResponse;
+import com.internship.orderservice.money.Money;
+import com.internship.orderservice.repository.OrderViewRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds {@link OrderResponse}s from {@link OrderViewRow}s, the projection counterpart of {@link OrderMapper}.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderViewAssembler {
+
+    private final UserInfoMapper userInfoMapper;
+
+    /**
+     * Groups the rows by order, keeping the order of first appearance. Users are left unset.
+     */
+    public Map<Long, OrderResponse> assemble(List<OrderViewRow> rows) {
+        Map<Long, OrderResponse> orders = new LinkedHashMap<>();
+        for (OrderViewRow row : rows) {
+            OrderResponse order = orders.computeIfAbsent(row.orderId(), id -> OrderResponse.builder()
+                    .id(id)
+                    .userId(row.userId())
+                    .status(row.status().name())
+                    .creationDate(row.creationDate())
+                    .paymentId(row.paymentId())
+                    .version(row.version())
+                    .totalAmount(Money.toDecimal(row.totalAmount()))
+                    .items(new ArrayList<>())
+                    .build());
+            if (row.itemId() != null) {
+                order.getItems().add(new OrderItemResponse(row.itemId(), row.itemName(), row.quantity(),
+                        Money.toDecimal(row.unitPrice())));
+            }
+        }
+        return orders;
+    }
+
+    public OrderResponse withUser(OrderResponse order, UserResponse user) {
+        order.setUser(userInfoMapper.toDto(user));
+        return order;
+    }
+}
@@ -0,0 +1,39 @@
+package com.internship.orderservice.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money arithmetic on {@code long} minor units (cents). Amounts stay in minor units inside
+ * the service and become {@link BigDecimal} only at the database, API and event edges.
+ * Overflow fails with {@link ArithmeticException} instead of wrapping.
+ */
+public final class Money {
+
+    /**
+     * Decimal places of every amount, matching the {@code NUMERIC(p,2)} money columns.
+     */
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /**
+     * @throws ArithmeticException if {@code amount} has more than {@link #SCALE} decimal places or does not fit a long
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public static long lineTotal(long unitPrice, int quantity) {
+        return Math.multiplyExact(unitPrice, quantity);
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+}
@@ -2,7 +2,17 @@ package com.internship.orderservice.repository;
 
 import com.internship.orderservice.entity.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    @Query(value = "select * from items where updated_at > :since", nativeQuery = true)
+    List<Item> findUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query(value = "select max(updated_at) from items", nativeQuery = true)
+    LocalDateTime findLatestUpdate();
 }
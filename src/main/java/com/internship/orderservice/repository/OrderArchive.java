@@ -0,0 +1,148 @@
+package com.internship.orderservice.repository;
+
+import com.internship.orderservice.entity.OrderStatus;
+import com.internship.orderservice.money.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Terminal orders moved out of {@code orders} and {@code order_items} into the {@code archive}
+ * schema. Archived orders are never modified; they are only read back by id.
+ */
+@Component
+public class OrderArchive {
+
+    /*
+     * One statement moves the chunk: the due orders are locked, skipping rows other writers hold,
+     * deleted from both hot tables and inserted into the archive from the DELETE ... RETURNING rows.
+     * Rows are either in the hot tables or in the archive at every commit.
+     */
+    private static final String MOVE_SQL = """
+            with due as (
+                select id, creation_date from orders
+                 where status = any(?) and creation_date < ?
+                 order by creation_date, id
+                 limit ?
+                 for update skip locked
+            ), moved_orders as (
+                delete from orders o using due
+                 where o.id = due.id and o.creation_date = due.creation_date
+                returning o.id, o.user_id, o.status, o.creation_date, o.payment_id, o.version, o.total_amount
+            ), moved_items as (
+                delete from order_items oi using due
+                 where oi.order_id = due.id and oi.order_creation_date = due.creation_date
+                returning oi.id, oi.order_id, oi.order_creation_date, oi.item_id, oi.quantity, oi.unit_price
+            ), archived_orders as (
+                insert into archive.orders (id, user_id, status, creation_date, payment_id, version, total_amount)
+                select * from moved_orders
+                returning 1
+            ), archived_items as (
+                insert into archive.order_items (id, order_id, order_creation_date, item_id, quantity, unit_price)
+                select * from moved_items
+                returning 1
+            )
+            select (select count(*) from archived_orders) as orders,
+                   (select count(*) from archived_items) as items
+            """;
+    private static final String OLDEST_DUE_SQL = """
+            select min(creation_date) from orders
+             where status = any(?) and creation_date < ?
+            """;
+    private static final String VIEW_ROWS_SQL = """
+            select o.id, o.user_id, o.status, o.creation_date, o.payment_id, o.version, o.total_amount,
+                   i.id as item_id, i.name as item_name, oi.quantity, oi.unit_price
+            from archive.orders o
+            left join archive.order_items oi on oi.order_id = o.id
+            left join items i on i.id = oi.item_id
+            where o.id = any(?)
+            order by o.id, oi.id
+            """;
+    private static final String VERSION_SQL = "select version, status from archive.orders where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderArchive(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Moves up to {@code limit} orders in one of {@code statuses} created before {@code createdBefore},
+     * oldest first, together with their lines.
+     */
+    public Moved moveChunk(Collection<OrderStatus> statuses, LocalDateTime createdBefore, int limit) {
+        return jdbcTemplate.query(MOVE_SQL,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("varchar",
+                            statuses.stream().map(Enum::name).toArray()));
+                    ps.setTimestamp(2, Timestamp.valueOf(createdBefore));
+                    ps.setInt(3, limit);
+                },
+                rs -> {
+                    rs.next();
+                    return new Moved(rs.getInt("orders"), rs.getInt("items"));
+                });
+    }
+
+    /**
+     * Creation date of the oldest order {@link #moveChunk} would still move, if any.
+     */
+    public Optional<LocalDateTime> findOldestDue(Collection<OrderStatus> statuses, LocalDateTime createdBefore) {
+        Timestamp oldest = jdbcTemplate.query(OLDEST_DUE_SQL,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("varchar",
+                            statuses.stream().map(Enum::name).toArray()));
+                    ps.setTimestamp(2, Timestamp.valueOf(createdBefore));
+                },
+                rs -> rs.next() ? rs.getTimestamp(1) : null);
+        return Optional.ofNullable(oldest).map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * Archive counterpart of {@link OrderRepository#findViewRowsByIdIn}.
+     */
+    public List<OrderViewRow> findViewRowsByIdIn(Collection<Long> ids) {
+        return jdbcTemplate.query(VIEW_ROWS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())),
+                (rs, rowNum) -> {
+                    BigDecimal unitPrice = rs.getBigDecimal("unit_price");
+                    return new OrderViewRow(
+                            rs.getLong("id"),
+                            rs.getLong("user_id"),
+                            OrderStatus.valueOf(rs.getString("status")),
+                            rs.getTimestamp("creation_date").toLocalDateTime(),
+                            rs.getString("payment_id"),
+                            rs.getLong("version"),
+                            Money.toMinorUnits(rs.getBigDecimal("total_amount")),
+                            rs.getObject("item_id", Long.class),
+                            rs.getString("item_name"),
+                            rs.getObject("quantity", Integer.class),
+                            unitPrice == null ? null : Money.toMinorUnits(unitPrice));
+                });
+    }
+
+    /**
+     * Archive counterpart of {@link OrderRepository#findVersionById}.
+     */
+    public Optional<OrderVersion> findVersionById(Long id) {
+        return jdbcTemplate.query(VERSION_SQL,
+                (rs, rowNum) -> new OrderVersion(rs.getLong("version"), OrderStatus.valueOf(rs.getString("status"))),
+                id).stream().findFirst();
+    }
+
+    /**
+     * Rows moved by one chunk.
+     */
+    public record Moved(int orders, int lines) {
+
+        public int rows() {
+            return orders + lines;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.internship.orderservice.repository;
+
+import com.internship.orderservice.entity.OrderStatus;
+
+import java.time.LocalDate;
+
+/**
+ * One row of {@code order_daily_stats}: orders created on {@code day} that are now in {@code status}.
+ * {@code totalAmount} is in minor units.
+ */
+public record OrderDailyStats(LocalDate day, OrderStatus status, long orderCount, long totalAmount) {
+}
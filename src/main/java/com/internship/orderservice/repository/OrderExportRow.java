@@ -0,0 +1,23 @@
+package com.internship.orderservice.repository;
+
+import com.internship.orderservice.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One order line of the export query; an order without lines yields a single row with null item columns.
+ * Amounts are in minor units.
+ */
+public record OrderExportRow(
+        Long orderId,
+        Long userId,
+        OrderStatus status,
+        LocalDateTime creationDate,
+        String paymentId,
+        Long totalAmount,
+        Long itemId,
+        String itemName,
+        Long unitPrice,
+        Integer quantity
+) {
+}
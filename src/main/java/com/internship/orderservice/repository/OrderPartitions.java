@@ -0,0 +1,110 @@
+package com.internship.orderservice.repository;
+
+import com.internship.orderservice.config.OrderPartitionsProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps monthly partitions of {@code orders} and {@code order_items} created ahead of time, so new
+ * orders never fall into the default partitions. Both tables are partitioned by the order's
+ * creation month and always get the same months.
+ * <p>
+ * Postgres refuses to add a month the default partition already holds rows of, so such rows are
+ * moved into the new partitions as they are created. Orders left in {@code orders_default}, dated
+ * outside every month created so far, are exposed as {@code order.partitions.default-rows}.
+ */
+@Slf4j
+@Component
+public class OrderPartitions {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    /*
+     * One statement, so a month is added all or nothing. The month's lines are set aside first:
+     * moving an order out of orders_default deletes it there, and the delete cascades to its lines.
+     * They go back through order_items once both partitions are in place.
+     */
+    private static final String CREATE_MONTH_SQL = """
+            do $$
+            begin
+                if to_regclass('%1$s') is not null and to_regclass('%2$s') is not null then
+                    return;
+                end if;
+                create temp table order_items_moving (like order_items) on commit drop;
+                with moved as (delete from order_items
+                                where order_creation_date >= '%3$s' and order_creation_date < '%4$s'
+                            returning *)
+                insert into order_items_moving select * from moved;
+                if to_regclass('%1$s') is null then
+                    create table %1$s (like orders including defaults including constraints);
+                    with moved as (delete from orders_default
+                                    where creation_date >= '%3$s' and creation_date < '%4$s'
+                                returning *)
+                    insert into %1$s select * from moved;
+                    alter table orders attach partition %1$s for values from ('%3$s') to ('%4$s');
+                end if;
+                create table if not exists %2$s partition of order_items for values from ('%3$s') to ('%4$s');
+                insert into order_items select * from order_items_moving;
+            end $$
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderPartitionsProperties properties;
+    private final AtomicLong defaultRows = new AtomicLong();
+
+    public OrderPartitions(JdbcTemplate jdbcTemplate,
+                           OrderPartitionsProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        Gauge.builder("order.partitions.default-rows", defaultRows, AtomicLong::get)
+                .description("Orders in the default partition, outside every monthly partition")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the partitions of the current month and the configured months ahead. A month that
+     * fails is logged and retried on the next run without holding back the later ones; another
+     * instance creating the same partition concurrently is such a failure.
+     */
+    @Scheduled(fixedDelayString = "${app.order-partitions.maintenance-interval:PT6H}")
+    public void createUpcoming() {
+        YearMonth current = YearMonth.now();
+        for (int month = 0; month <= properties.getMonthsAhead(); month++) {
+            YearMonth partitionMonth = current.plusMonths(month);
+            try {
+                createMonth(partitionMonth);
+            } catch (DataAccessException e) {
+                log.warn("Could not create partitions for {}", partitionMonth, e);
+            }
+        }
+
+        try {
+            Long rows = jdbcTemplate.queryForObject("select count(*) from orders_default", Long.class);
+            defaultRows.set(rows == null ? 0 : rows);
+        } catch (DataAccessException e) {
+            log.warn("Could not count rows of orders_default: {}", e.getMessage());
+        }
+        if (defaultRows.get() > 0) {
+            log.warn("{} order(s) in orders_default are outside every monthly partition", defaultRows.get());
+        }
+    }
+
+    private void createMonth(YearMonth month) {
+        jdbcTemplate.execute(CREATE_MONTH_SQL.formatted(partitionName("orders", month),
+                partitionName("order_items", month), month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    static String partitionName(String table, YearMonth month) {
+        return table + "_p" + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -2,27 +2,156 @@ package com.internship.orderservice.repository;
 
 import com.internship.orderservice.entity.Order;
 import com.internship.orderservice.entity.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    /**
+     * Read path of the GET endpoints: projects order lines into {@link OrderViewRow} so no entity,
+     * proxy or dirty-check snapshot is created. Rows of one order are adjacent. Joining on the
+     * partition key lets each order probe only its month of {@code order_items}.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
     @Query("""
-                select distinct o from Order o
-                left join fetch o.orderItems oi
-                left join fetch oi.item
+                select new com.internship.orderservice.repository.OrderViewRow(
+                    o.id, o.userId, o.status, o.creationDate, o.paymentId, o.version, o.totalAmount,
+                    i.id, i.name, oi.quantity, oi.unitPrice)
+                from Order o
+                left join o.orderItems oi on oi.orderCreationDate = o.creationDate
+                left join oi.item i
                 where o.id in :ids
+                order by o.id, oi.id
             """)
-    List<Order> findByIdIn(@Param("ids") List<Long> ids);
+    List<OrderViewRow> findViewRowsByIdIn(@Param("ids") Collection<Long> ids);
 
+    /**
+     * Primary-key lookup of what conditional GETs need, without reading order lines.
+     */
     @Query("""
-                select distinct o from Order o
-                left join fetch o.orderItems oi
-                left join fetch oi.item
+                select new com.internship.orderservice.repository.OrderVersion(o.version, o.status)
+                from Order o
+                where o.id = :id
+            """)
+    Optional<OrderVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Oldest-first keyset pages of orders in any of the given statuses. Each status walks its own
+     * range of {@code idx_orders_status_creation_date_id} for at most {@code limit} ids and the runs
+     * are merged, so a page costs the same however many orders match, whatever the number of
+     * statuses. A plain {@code status in (...)} cannot read that index in {@code (creation_date, id)}
+     * order once there are two statuses, and sorts every matching order instead.
+     */
+    @Query(value = """
+                select p.id
+                  from unnest(cast(:statuses as varchar[])) as s(status)
+                 cross join lateral (
+                        select o.id, o.creation_date from orders o
+                         where o.status = s.status
+                         order by o.creation_date, o.id
+                         limit :limit) p
+                 order by p.creation_date, p.id
+                 limit :limit
+            """, nativeQuery = true)
+    List<Long> findPageIdsByStatusIn(@Param("statuses") String[] statuses, @Param("limit") int limit);
+
+    @Query(value = """
+                select p.id
+                  from unnest(cast(:statuses as varchar[])) as s(status)
+                 cross join lateral (
+                        select o.id, o.creation_date from orders o
+                         where o.status = s.status
+                           and (o.creation_date, o.id) > (:creationDate, :id)
+                         order by o.creation_date, o.id
+                         limit :limit) p
+                 order by p.creation_date, p.id
+                 limit :limit
+            """, nativeQuery = true)
+    List<Long> findPageIdsByStatusInAfter(@Param("statuses") String[] statuses,
+                                          @Param("creationDate") LocalDateTime creationDate,
+                                          @Param("id") Long id,
+                                          @Param("limit") int limit);
+
+    /**
+     * Newest-first keyset pages of one user's orders over {@code (user_id, creation_date desc, id desc)}.
+     */
+    @Query("""
+                select o.id from Order o
+                where o.userId = :userId
+                order by o.creationDate desc, o.id desc
+            """)
+    List<Long> findUserPageIds(@Param("userId") Long userId, Limit limit);
+
+    @Query("""
+                select o.id from Order o
+                where o.userId = :userId
+                  and (o.creationDate, o.id) < (:creationDate, :id)
+                order by o.creationDate desc, o.id desc
+            """)
+    List<Long> findUserPageIdsAfter(@Param("userId") Long userId,
+                                    @Param("creationDate") LocalDateTime creationDate,
+                                    @Param("id") Long id,
+                                    Limit limit);
+
+    @Query("""
+                select o.id from Order o
+                where o.userId = :userId and o.status in :statuses
+                order by o.creationDate desc, o.id desc
+            """)
+    List<Long> findUserPageIdsByStatusIn(@Param("userId") Long userId,
+                                         @Param("statuses") List<OrderStatus> statuses,
+                                         Limit limit);
+
+    @Query("""
+                select o.id from Order o
+                where o.userId = :userId and o.status in :statuses
+                  and (o.creationDate, o.id) < (:creationDate, :id)
+                order by o.creationDate desc, o.id desc
+            """)
+    List<Long> findUserPageIdsByStatusInAfter(@Param("userId") Long userId,
+                                              @Param("statuses") List<OrderStatus> statuses,
+                                              @Param("creationDate") LocalDateTime creationDate,
+                                              @Param("id") Long id,
+                                              Limit limit);
+
+    /**
+     * Forward-only read for the export: flat DTO rows bypass the persistence context and the
+     * fetch size makes the driver pull the result through a server-side cursor. The range is
+     * repeated on the lines' partition key so both tables are pruned to the requested months.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+                select new com.internship.orderservice.repository.OrderExportRow(
+                    o.id, o.userId, o.status, o.creationDate, o.paymentId, o.totalAmount,
+                    i.id, i.name, oi.unitPrice, oi.quantity)
+                from Order o
+                left join o.orderItems oi
+                    on oi.orderCreationDate = o.creationDate
+                   and oi.orderCreationDate >= :from and oi.orderCreationDate < :to
+                left join oi.item i
                 where o.status in :statuses
+                  and o.creationDate >= :from and o.creationDate < :to
+                order by o.creationDate, o.id
             """)
-    List<Order> findByStatusIn(@Param("statuses") List<OrderStatus> statuses);
+    Stream<OrderExportRow> streamForExport(@Param("statuses") List<OrderStatus> statuses,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,201 @@
+package com.internship.orderservice.repository;
+
+import com.internship.orderservice.entity.OrderStatus;
+import com.internship.orderservice.money.Money;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Incrementally maintained {@code order_daily_stats}: order count and total amount per creation day
+ * and current status.
+ * <p>
+ * Writers report every order they add, remove or change. The deltas are summed per (day, status)
+ * in memory for the current transaction and written just before it commits, as one JDBC batch of
+ * upserts in key order, so a batch of orders costs one row per touched (day, status) and two
+ * writers cannot deadlock on the rollup. A rolled back transaction discards its deltas.
+ * Without a transaction the deltas are written right away.
+ */
+@Component
+public class OrderStatsRollup {
+
+    private static final String UPSERT_SQL = """
+            insert into order_daily_stats (day, status, order_count, total_amount)
+            values (?, ?, ?, ?)
+            on conflict (day, status) do update
+               set order_count = order_daily_stats.order_count + excluded.order_count,
+                   total_amount = order_daily_stats.total_amount + excluded.total_amount
+            """;
+    private static final String LOCK_SQL = "lock table order_daily_stats in exclusive mode";
+    private static final String REBUILD_SQL = """
+            insert into order_daily_stats (day, status, order_count, total_amount)
+            select cast(creation_date as date), status, count(*), sum(total_amount)
+            from (select creation_date, status, total_amount from orders
+                  union all
+                  select creation_date, status, total_amount from archive.orders) o
+            group by cast(creation_date as date), status
+            """;
+    private static final String FIND_SQL = """
+            select day, status, order_count, total_amount
+            from order_daily_stats
+            where day >= ? and day < ? and status = any(?) and order_count <> 0
+            order by day, status
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderStatsRollup(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void added(LocalDateTime creationDate, OrderStatus status, long totalAmount) {
+        accumulate(creationDate, status, 1, totalAmount);
+    }
+
+    public void removed(LocalDateTime creationDate, OrderStatus status, long totalAmount) {
+        accumulate(creationDate, status, -1, -totalAmount);
+    }
+
+    /**
+     * Moves an order between (day, status) cells, or adjusts its amount within one.
+     */
+    public void changed(LocalDateTime creationDate,
+                        OrderStatus fromStatus, long fromAmount,
+                        OrderStatus toStatus, long toAmount) {
+        if (fromStatus == toStatus && fromAmount == toAmount) {
+            return;
+        }
+        removed(creationDate, fromStatus, fromAmount);
+        added(creationDate, toStatus, toAmount);
+    }
+
+    /**
+     * @param to exclusive
+     */
+    public List<OrderDailyStats> find(LocalDate from, LocalDate to, Collection<OrderStatus> statuses) {
+        return jdbcTemplate.query(FIND_SQL,
+                ps -> {
+                    ps.setDate(1, Date.valueOf(from));
+                    ps.setDate(2, Date.valueOf(to));
+                    ps.setArray(3, ps.getConnection().createArrayOf("varchar",
+                            statuses.stream().map(Enum::name).toArray()));
+                },
+                (rs, rowNum) -> new OrderDailyStats(
+                        rs.getDate("day").toLocalDate(),
+                        OrderStatus.valueOf(rs.getString("status")),
+                        rs.getLong("order_count"),
+                        Money.toMinorUnits(rs.getBigDecimal("total_amount"))));
+    }
+
+    /**
+     * Recomputes the rollup from {@code orders} and {@code archive.orders}; archiving moves an order
+     * without changing its cell. The table lock holds back writers that are about to apply their
+     * deltas until the rebuild commits; their order changes are not visible to the rebuild yet, so
+     * the deltas they apply afterwards are still needed.
+     *
+     * @return number of (day, status) rows written
+     */
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.execute(LOCK_SQL);
+        jdbcTemplate.update("delete from order_daily_stats");
+        return jdbcTemplate.update(REBUILD_SQL);
+    }
+
+    private void accumulate(LocalDateTime creationDate, OrderStatus status, long count, long amount) {
+        Key key = new Key(creationDate.toLocalDate(), status);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(Map.of(key, new long[]{count, amount}));
+            return;
+        }
+        Deltas deltas = (Deltas) TransactionSynchronizationManager.getResource(this);
+        if (deltas == null) {
+            deltas = new Deltas();
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(deltas);
+        }
+        long[] cell = deltas.byKey.computeIfAbsent(key, k -> new long[2]);
+        cell[0] += count;
+        cell[1] = Money.add(cell[1], amount);
+    }
+
+    private void write(Map<Key, long[]> deltas) {
+        List<Map.Entry<Key, long[]>> rows = new ArrayList<>(deltas.size());
+        for (Map.Entry<Key, long[]> entry : deltas.entrySet()) {
+            if (entry.getValue()[0] != 0 || entry.getValue()[1] != 0) {
+                rows.add(entry);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Key, long[]> row = rows.get(i);
+                ps.setDate(1, Date.valueOf(row.getKey().day()));
+                ps.setString(2, row.getKey().status().name());
+                ps.setLong(3, row.getValue()[0]);
+                ps.setBigDecimal(4, Money.toDecimal(row.getValue()[1]));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    private record Key(LocalDate day, OrderStatus status) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(Key other) {
+            int byDay = day.compareTo(other.day);
+            return byDay != 0 ? byDay : status.name().compareTo(other.status.name());
+        }
+    }
+
+    /**
+     * Deltas of one transaction, sorted so every writer upserts rows in the same order.
+     */
+    private final class Deltas implements TransactionSynchronization {
+
+        private final Map<Key, long[]> byKey = new TreeMap<>();
+
+        // an inner REQUIRES_NEW transaction must collect its own deltas, not add to these
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(OrderStatsRollup.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(OrderStatsRollup.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(byKey);
+            byKey.clear();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OrderStatsRollup.this);
+        }
+    }
+}
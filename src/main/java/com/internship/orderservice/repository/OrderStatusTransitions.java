@@ -0,0 +1,178 @@
+package com.internship.orderservice.repository;
+
+import com.internship.orderservice.entity.OrderStatus;
+import com.internship.orderservice.money.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Moves orders between statuses according to {@link OrderStatus#sources()} with one conditional
+ * {@code UPDATE} per order, so the check and the write cannot be separated by a concurrent change.
+ * The update locks the row in a sub-select and returns the status it replaced, which
+ * {@link OrderStatsRollup} needs; all updates of a call go out as one batch. Only orders that were
+ * not updated are read back, to tell an illegal transition from a missing order or a change that
+ * is already in place. The row version is bumped, so a concurrent versioned update of the same
+ * {@link com.internship.orderservice.entity.Order} fails and retries.
+ * <p>
+ * Joins the caller's transaction when there is one.
+ */
+@Component
+public class OrderStatusTransitions {
+
+    private static final String TRANSITION_SQL = """
+            update orders o set status = ?, payment_id = coalesce(?, o.payment_id), version = o.version + 1
+              from (select id, creation_date, status from orders where id = ? for update) old
+             where o.id = old.id and o.creation_date = old.creation_date and o.status = any(?)
+               and (o.status <> ? or o.payment_id is distinct from coalesce(?, o.payment_id))
+            returning ?::int as seq, o.id, old.status as previous_status, o.creation_date, o.total_amount
+            """;
+    private static final String CURRENT_SQL = "select id, status, payment_id from orders where id = any(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderStatsRollup orderStatsRollup;
+
+    public OrderStatusTransitions(JdbcTemplate jdbcTemplate, OrderStatsRollup orderStatsRollup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.orderStatsRollup = orderStatsRollup;
+    }
+
+    public Outcome apply(Transition transition) {
+        return applyAll(List.of(transition)).get(0);
+    }
+
+    /**
+     * @return one outcome per transition, in the same order
+     */
+    public List<Outcome> applyAll(List<Transition> transitions) {
+        if (transitions.isEmpty()) {
+            return List.of();
+        }
+        boolean[] applied = update(transitions);
+
+        List<Long> notUpdated = new ArrayList<>();
+        for (int i = 0; i < applied.length; i++) {
+            if (!applied[i]) {
+                notUpdated.add(transitions.get(i).orderId());
+            }
+        }
+        Map<Long, Current> current = notUpdated.isEmpty() ? Map.of() : current(notUpdated);
+
+        List<Outcome> outcomes = new ArrayList<>(transitions.size());
+        for (int i = 0; i < applied.length; i++) {
+            Transition transition = transitions.get(i);
+            if (applied[i]) {
+                outcomes.add(Outcome.applied(transition));
+                continue;
+            }
+            Current order = current.get(transition.orderId());
+            if (order == null) {
+                outcomes.add(new Outcome(transition, Result.NOT_FOUND, null));
+            } else if (order.status() == transition.target()
+                    && (transition.paymentId() == null || Objects.equals(order.paymentId(), transition.paymentId()))) {
+                outcomes.add(new Outcome(transition, Result.UNCHANGED, order.status()));
+            } else {
+                outcomes.add(new Outcome(transition, Result.REJECTED, order.status()));
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Runs the updates as one batch and reports each applied one to the rollup. Every statement
+     * returns its own position with the updated row, so rows are matched to transitions whatever
+     * the driver reports as update counts and whichever order the rows come back in.
+     *
+     * @return per transition, whether it was applied
+     */
+    private boolean[] update(List<Transition> transitions) {
+        return jdbcTemplate.execute(
+                (Connection con) -> con.prepareStatement(TRANSITION_SQL, Statement.RETURN_GENERATED_KEYS),
+                (PreparedStatement ps) -> {
+                    for (int i = 0; i < transitions.size(); i++) {
+                        bind(ps, transitions.get(i), i);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    boolean[] applied = new boolean[transitions.size()];
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        while (rs.next()) {
+                            int i = rs.getInt("seq");
+                            Transition transition = transitions.get(i);
+                            if (applied[i] || rs.getLong("id") != transition.orderId()) {
+                                throw new IllegalStateException("Unexpected row for order " + rs.getLong("id")
+                                        + " from transition " + i + " of " + transitions.size());
+                            }
+                            long totalAmount = Money.toMinorUnits(rs.getBigDecimal("total_amount"));
+                            orderStatsRollup.changed(rs.getTimestamp("creation_date").toLocalDateTime(),
+                                    OrderStatus.valueOf(rs.getString("previous_status")), totalAmount,
+                                    transition.target(), totalAmount);
+                            applied[i] = true;
+                        }
+                    }
+                    return applied;
+                });
+    }
+
+    private static void bind(PreparedStatement ps, Transition transition, int seq) throws SQLException {
+        Array sources = ps.getConnection().createArrayOf("varchar",
+                transition.target().sources().stream().map(Enum::name).toArray());
+        ps.setString(1, transition.target().name());
+        ps.setString(2, transition.paymentId());
+        ps.setLong(3, transition.orderId());
+        ps.setArray(4, sources);
+        ps.setString(5, transition.target().name());
+        ps.setString(6, transition.paymentId());
+        ps.setInt(7, seq);
+    }
+
+    private Map<Long, Current> current(List<Long> orderIds) {
+        Map<Long, Current> orders = new HashMap<>(orderIds.size() * 2);
+        jdbcTemplate.query(CURRENT_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", orderIds.toArray())),
+                rs -> {
+                    long id = rs.getLong("id");
+                    orders.put(id, new Current(OrderStatus.valueOf(rs.getString("status")), rs.getString("payment_id")));
+                });
+        return orders;
+    }
+
+    /**
+     * @param paymentId new payment id, or {@code null} to keep the current one
+     */
+    public record Transition(long orderId, OrderStatus target, String paymentId) {
+    }
+
+    public enum Result {
+        APPLIED,
+        /** the order already had the target status and payment id */
+        UNCHANGED,
+        /** the order's current status is not a source of the target status */
+        REJECTED,
+        NOT_FOUND
+    }
+
+    /**
+     * @param current the status found when the transition was not applied, otherwise {@code null}
+     */
+    public record Outcome(Transition transition, Result result, OrderStatus current) {
+
+        static Outcome applied(Transition transition) {
+            return new Outcome(transition, Result.APPLIED, null);
+        }
+    }
+
+    private record Current(OrderStatus status, String paymentId) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.internship.orderservice.repository;
+
+import com.internship.orderservice.entity.OrderStatus;
+
+/**
+ * Version and status of one order, enough to answer a conditional GET.
+ */
+public record OrderVersion(Long version, OrderStatus status) {
+}
@@ -0,0 +1,24 @@
+package com.internship.orderservice.repository;
+
+import com.internship.orderservice.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of one order line, projected straight from the query without loading entities.
+ * An order without lines yields a single row with null item columns. Amounts are in minor units.
+ */
+public record OrderViewRow(
+        Long orderId,
+        Long userId,
+        OrderStatus status,
+        LocalDateTime creationDate,
+        String paymentId,
+        Long version,
+        Long totalAmount,
+        Long itemId,
+        String itemName,
+        Integer quantity,
+        Long unitPrice
+) {
+}
@@ -0,0 +1,88 @@
+package com.internship.orderservice.retry;
+
+import com.internship.orderservice.config.ConflictRetryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.backoff.ExponentialRandomBackOffPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a unit of work that lost a write race: an optimistic-lock failure on a versioned
+ * entity, a deadlock or a lock timeout. Attempts are bounded and spaced by an exponential
+ * backoff with random jitter, so contending writers do not retry in lockstep.
+ * <p>
+ * The work must start its own transaction, otherwise a retry would reuse the failed one.
+ * Retries and give-ups are counted per operation ({@code order.conflicts.retries},
+ * {@code order.conflicts.give-ups}); give-ups are logged with their key to find hot orders.
+ */
+@Slf4j
+@Component
+public class ConflictRetry {
+
+    private final RetryTemplate retryTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public ConflictRetry(ConflictRetryProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        ExponentialRandomBackOffPolicy backOff = new ExponentialRandomBackOffPolicy();
+        backOff.setInitialInterval(properties.getInitialBackoff().toMillis());
+        backOff.setMultiplier(properties.getMultiplier());
+        backOff.setMaxInterval(properties.getMaxBackoff().toMillis());
+
+        this.retryTemplate = new RetryTemplate();
+        this.retryTemplate.setRetryPolicy(new SimpleRetryPolicy(properties.getMaxAttempts(),
+                Map.of(ConcurrencyFailureException.class, true), true));
+        this.retryTemplate.setBackOffPolicy(backOff);
+    }
+
+    /**
+     * @param operation metric tag, e.g. {@code update-order}
+     * @param key       what is being written, for the logs; may be {@code null}
+     */
+    public <T> T run(String operation, Object key, Supplier<T> work) {
+        Counter retries = meterRegistry.counter("order.conflicts.retries", "operation", operation);
+        Counter giveUps = meterRegistry.counter("order.conflicts.give-ups", "operation", operation);
+
+        return retryTemplate.execute(new RetryCallback<T, RuntimeException>() {
+            @Override
+            public T doWithRetry(RetryContext context) {
+                if (context.getRetryCount() > 0) {
+                    retries.increment();
+                    log.debug("Retrying {} for {} after conflict (attempt {})",
+                            operation, key, context.getRetryCount() + 1);
+                }
+                return work.get();
+            }
+        }, context -> {
+            Throwable last = context.getLastThrowable();
+            if (isConflict(last)) {
+                giveUps.increment();
+                log.warn("Giving up {} for {} after {} attempt(s): {}", operation, key, context.getRetryCount(),
+                        last.getMessage());
+            }
+            if (last instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) last;
+        });
+    }
+
+    private static boolean isConflict(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof ConcurrencyFailureException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
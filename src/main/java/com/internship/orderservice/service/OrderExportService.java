@@ -0,0 +1,17 @@
+package com.internship.orderservice.service;
+
+import com.internship.orderservice.entity.OrderStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderExportService {
+
+    /**
+     * Writes every matching order as one JSON document per line and returns the number of orders written.
+     */
+    long exportOrders(List<OrderStatus> statuses, LocalDateTime from, LocalDateTime to, OutputStream out)
+            throws IOException;
+}
@@ -1,8 +1,11 @@
 package com.internship.orderservice.service;
 
 import com.internship.orderservice.dto.request.OrderRequest;
+import com.internship.orderservice.dto.response.BatchOrderResponse;
 import com.internship.orderservice.dto.response.OrderResponse;
 import com.internship.orderservice.entity.OrderStatus;
+import com.internship.orderservice.paging.CursorPage;
+import com.internship.orderservice.repository.OrderVersion;
 
 import java.util.List;
 
@@ -10,11 +13,24 @@ public interface OrderService {
 
     OrderResponse createOrder(OrderRequest request);
 
+    BatchOrderResponse createOrders(List<OrderRequest> requests, Long credentialsId);
+
     OrderResponse getOrderById(Long id);
 
+    OrderResponse getOrderById(Long id, long currentVersion);
+
+    OrderVersion getOrderVersion(Long id);
+
     List<OrderResponse> getOrdersByIds(List<Long> ids);
 
-    List<OrderResponse> getOrdersByStatuses(List<OrderStatus> statuses);
+    CursorPage<OrderResponse> getOrdersByStatuses(List<OrderStatus> statuses, String cursor, int limit);
+
+    /**
+     * @param statuses optional filter, all statuses when {@code null} or empty
+     */
+    CursorPage<OrderResponse> getOrdersByUser(Long userId, List<OrderStatus> statuses, String cursor, int limit);
+
+    CursorPage<OrderResponse> getMyOrders(Long credentialsId, List<OrderStatus> statuses, String cursor, int limit);
 
     OrderResponse updateOrder(Long id, OrderRequest request, Long credentialsId);
 
@@ -0,0 +1,21 @@
+package com.internship.orderservice.service;
+
+import com.internship.orderservice.dto.response.OrderDailyStatsResponse;
+import com.internship.orderservice.entity.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface OrderStatsService {
+
+    /**
+     * Order count and total per day and status for {@code from <= day < to}, read from the rollup.
+     * Days without orders are left out.
+     */
+    List<OrderDailyStatsResponse> getDailyStats(LocalDate from, LocalDate to, List<OrderStatus> statuses);
+
+    /**
+     * Recomputes the rollup from the orders and returns the number of rows written.
+     */
+    int rebuild();
+}
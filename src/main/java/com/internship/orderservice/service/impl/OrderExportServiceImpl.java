@@ -0,0 +1,104 @@
+package com.internship.orderservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.orderservice.entity.OrderStatus;
+import com.internship.orderservice.money.Money;
+import com.internship.orderservice.repository.OrderExportRow;
+import com.internship.orderservice.repository.OrderRepository;
+import com.internship.orderservice.service.OrderExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Streams orders as NDJSON. Rows come from a forward-only cursor and are written straight to the
+ * output stream, consecutive rows of one order form one line, so memory use does not depend on
+ * the number of exported orders.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final int FLUSH_EVERY_ORDERS = 500;
+
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public long exportOrders(List<OrderStatus> statuses, LocalDateTime from, LocalDateTime to, OutputStream out)
+            throws IOException {
+        long exported = 0;
+        try (Stream<OrderExportRow> rows = orderRepository.streamForExport(statuses, from, to);
+             JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.setRootValueSeparator(null);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Long currentOrderId = null;
+            Iterator<OrderExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                OrderExportRow row = iterator.next();
+                if (!Objects.equals(row.orderId(), currentOrderId)) {
+                    if (currentOrderId != null) {
+                        endOrder(json);
+                        if (++exported % FLUSH_EVERY_ORDERS == 0) {
+                            json.flush();
+                        }
+                    }
+                    startOrder(json, row);
+                    currentOrderId = row.orderId();
+                }
+                writeItem(json, row);
+            }
+            if (currentOrderId != null) {
+                endOrder(json);
+                exported++;
+            }
+            json.flush();
+        }
+        log.info("Exported {} order(s) with statuses {} created in [{}, {})", exported, statuses, from, to);
+        return exported;
+    }
+
+    private static void startOrder(JsonGenerator json, OrderExportRow row) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", row.orderId());
+        json.writeNumberField("userId", row.userId());
+        json.writeStringField("status", row.status().name());
+        json.writeStringField("creationDate", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(row.creationDate()));
+        json.writeStringField("paymentId", row.paymentId());
+        json.writeNumberField("totalAmount", Money.toDecimal(row.totalAmount()));
+        json.writeArrayFieldStart("items");
+    }
+
+    private static void writeItem(JsonGenerator json, OrderExportRow row) throws IOException {
+        if (row.itemId() == null) {
+            return;
+        }
+        json.writeStartObject();
+        json.writeNumberField("itemId", row.itemId());
+        json.writeStringField("name", row.itemName());
+        json.writeNumberField("price", Money.toDecimal(row.unitPrice()));
+        json.writeNumberField("quantity", row.quantity());
+        json.writeEndObject();
+    }
+
+    private static void endOrder(JsonGenerator json) throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+}
@@ -1,32 +1,66 @@
 package com.internship.orderservice.service.impl;
 
+import com.internship.orderservice.cache.OrderResponseCache;
+import com.internship.orderservice.catalog.ItemCatalog;
+import com.internship.orderservice.client.UserBatchLoader;
 import com.internship.orderservice.client.UserClient;
+import com.internship.orderservice.config.OrderBatchProperties;
 import com.internship.orderservice.dto.external.UserResponse;
+import com.internship.orderservice.dto.request.OrderItemRequest;
 import com.internship.orderservice.dto.request.OrderRequest;
+import com.internship.orderservice.dto.response.BatchOrderResponse;
+import com.internship.orderservice.dto.response.BatchOrderResult;
 import com.internship.orderservice.dto.response.OrderResponse;
 import com.internship.orderservice.entity.Item;
 import com.internship.orderservice.entity.Order;
 import com.internship.orderservice.entity.OrderItem;
 import com.internship.orderservice.entity.OrderStatus;
+import com.internship.orderservice.exception.IllegalStatusTransitionException;
 import com.internship.orderservice.exception.NotFoundException;
-import com.internship.orderservice.kafka.OrderEventsProducer;
+import com.internship.orderservice.kafka.OrderEventsOutbox;
 import com.internship.orderservice.kafka.dto.OrderEvent;
 import com.internship.orderservice.mapper.OrderMapper;
-import com.internship.orderservice.repository.ItemRepository;
+import com.internship.orderservice.mapper.OrderViewAssembler;
+import com.internship.orderservice.money.Money;
+import com.internship.orderservice.paging.CursorPage;
+import com.internship.orderservice.paging.OrderCursor;
+import com.internship.orderservice.repository.OrderArchive;
 import com.internship.orderservice.repository.OrderRepository;
+import com.internship.orderservice.repository.OrderStatsRollup;
+import com.internship.orderservice.repository.OrderVersion;
+import com.internship.orderservice.retry.ConflictRetry;
 import com.internship.orderservice.service.OrderService;
+import com.internship.orderservice.validation.Create;
 import feign.FeignException;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -34,9 +68,19 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
-    private final ItemRepository itemRepository;
+    private final OrderViewAssembler orderViewAssembler;
+    private final ItemCatalog itemCatalog;
     private final UserClient userClient;
-    private final OrderEventsProducer orderEventsProducer;
+    private final UserBatchLoader userBatchLoader;
+    private final OrderEventsOutbox orderEventsOutbox;
+    private final ConflictRetry conflictRetry;
+    private final OrderResponseCache orderResponseCache;
+    private final OrderStatsRollup orderStatsRollup;
+    private final OrderArchive orderArchive;
+    private final OrderBatchProperties orderBatchProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
 
     @Override
     @Transactional
@@ -52,73 +96,241 @@ public class OrderServiceImpl implements OrderService {
 
         UserResponse user = requireUser(actualUserId);
 
-        Order order = orderMapper.toEntity(request);
+        Order order = newOrder(request);
 
-        order.setStatus(OrderStatus.PENDING);
-        order.setCreationDate(LocalDateTime.now());
+        Order saved = orderRepository.save(order);
 
-        order.setPaymentId(null);
+        orderEventsOutbox.append(toOrderEvent(saved));
+        orderStatsRollup.added(saved.getCreationDate(), saved.getStatus(), saved.getTotalAmount());
 
-        List<OrderItem> orderItems = request.getItems().stream()
-                .map(itemReq -> {
-                    Item item = itemRepository.findById(itemReq.getItemId())
-                            .orElseThrow(() ->
-                                    new NotFoundException("Item not found with id: " + itemReq.getItemId()));
-                    return OrderItem.builder()
-                            .order(order)
-                            .item(item)
-                            .quantity(itemReq.getQuantity())
-                            .build();
-                })
-                .toList();
-
-        order.setOrderItems(orderItems);
+        OrderResponse response = orderMapper.toDto(saved, user);
+        orderResponseCache.putAfterCommit(response);
+        return response;
+    }
 
-        Order saved = orderRepository.save(order);
+    /**
+     * Creates many orders of one user. Every order is validated and resolved on its own, the valid
+     * ones are written in chunks of {@code app.order-batch.chunk-size}, one transaction per chunk,
+     * so Hibernate can batch the INSERTs. The chunk's events go to the outbox in the same transaction.
+     * If a chunk fails to commit, its orders are retried one by one to isolate the bad ones.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchOrderResponse createOrders(List<OrderRequest> requests, Long credentialsId) {
+        if (requests.size() > orderBatchProperties.getMaxSize()) {
+            throw new IllegalArgumentException(
+                    "Batch must contain at most " + orderBatchProperties.getMaxSize() + " orders");
+        }
+        if (credentialsId == null) {
+            throw new NotFoundException("Missing user credentials id");
+        }
+        Long actualUserId = resolveActualUserId(credentialsId);
 
-        BigDecimal paymentAmount = orderItems.stream()
-                .map(orderItem -> orderItem.getItem().getPrice()
-                        .multiply(BigDecimal.valueOf(orderItem.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BatchOrderResult[] results = new BatchOrderResult[requests.size()];
+        List<Order> pending = new ArrayList<>(requests.size());
+        Map<Order, Integer> indexByOrder = new IdentityHashMap<>(requests.size());
 
-        OrderEvent event = OrderEvent.builder()
-                .eventId(UUID.randomUUID().toString())
-                .orderId(saved.getId())
-                .userId(saved.getUserId())
-                .paymentAmount(paymentAmount)
-                .build();
+        for (int i = 0; i < requests.size(); i++) {
+            OrderRequest request = requests.get(i);
+            String violations = validate(request);
+            if (violations != null) {
+                results[i] = BatchOrderResult.failed(i, violations);
+                continue;
+            }
+            try {
+                request.setUserId(actualUserId);
+                Order order = newOrder(request);
+                pending.add(order);
+                indexByOrder.put(order, i);
+            } catch (NotFoundException e) {
+                results[i] = BatchOrderResult.failed(i, e.getMessage());
+            }
+        }
 
-        orderEventsProducer.send(event);
+        int chunkSize = Math.max(1, orderBatchProperties.getChunkSize());
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Order> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            try {
+                persist(chunk);
+                chunk.forEach(order -> {
+                    int index = indexByOrder.get(order);
+                    results[index] = created(index, order);
+                });
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Order batch chunk of {} failed, retrying one by one: {}", chunk.size(), e.getMessage());
+                for (Order order : chunk) {
+                    int index = indexByOrder.get(order);
+                    resetIds(order);
+                    try {
+                        persist(List.of(order));
+                        results[index] = created(index, order);
+                    } catch (DataAccessException | TransactionException ex) {
+                        results[index] = BatchOrderResult.failed(index, "Could not save order: "
+                                + ex.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        }
 
-        return orderMapper.toDto(saved, user);
+        List<BatchOrderResult> resultList = Arrays.asList(results);
+        int createdCount = (int) resultList.stream()
+                .filter(result -> BatchOrderResult.CREATED.equals(result.getStatus()))
+                .count();
+        return BatchOrderResponse.builder()
+                .created(createdCount)
+                .failed(resultList.size() - createdCount)
+                .results(resultList)
+                .build();
     }
 
+    /**
+     * Falls back to {@link OrderArchive} for orders that have been archived.
+     */
     @Override
     public OrderResponse getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Order not found with id: " + id));
+        OrderResponse order = orderViewAssembler.assemble(orderRepository.findViewRowsByIdIn(List.of(id)))
+                .get(id);
+        if (order == null) {
+            order = orderViewAssembler.assemble(orderArchive.findViewRowsByIdIn(List.of(id))).get(id);
+        }
+        if (order == null) {
+            throw new NotFoundException("Order not found with id: " + id);
+        }
 
         UserResponse user = safeGetUser(order.getUserId());
-        return orderMapper.toDto(order, user);
+        return orderViewAssembler.withUser(order, user);
+    }
+
+    /**
+     * Served from {@link OrderResponseCache} when it holds {@code currentVersion}; otherwise the
+     * order is assembled as in {@link #getOrderById(Long)} and cached, unless the user lookup
+     * degraded to no user.
+     */
+    @Override
+    public OrderResponse getOrderById(Long id, long currentVersion) {
+        OrderResponse cached = orderResponseCache.get(id, currentVersion);
+        if (cached != null) {
+            return cached;
+        }
+        OrderResponse response = getOrderById(id);
+        if (response.getUser() != null) {
+            orderResponseCache.put(response);
+        }
+        return response;
     }
 
+    @Override
+    public OrderVersion getOrderVersion(Long id) {
+        return orderRepository.findVersionById(id)
+                .or(() -> orderArchive.findVersionById(id))
+                .orElseThrow(() -> new NotFoundException("Order not found with id: " + id));
+    }
+
+    /**
+     * Ids not found in the hot tables are looked up in {@link OrderArchive}; the result stays
+     * ordered by id.
+     */
     @Override
     public List<OrderResponse> getOrdersByIds(List<Long> ids) {
-        return orderRepository.findByIdIn(ids).stream()
-                .map(o -> orderMapper.toDto(o, safeGetUser(o.getUserId())))
-                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, OrderResponse> orders = orderViewAssembler.assemble(orderRepository.findViewRowsByIdIn(ids));
+        List<Long> archived = ids.stream().distinct().filter(id -> !orders.containsKey(id)).toList();
+        if (!archived.isEmpty()) {
+            Map<Long, OrderResponse> byId = new TreeMap<>(orders);
+            byId.putAll(orderViewAssembler.assemble(orderArchive.findViewRowsByIdIn(archived)));
+            return withUsers(List.copyOf(byId.values()));
+        }
+        return withUsers(List.copyOf(orders.values()));
     }
 
+    /**
+     * Keyset page over {@code (creation_date, id)}. Only the ids of the page are selected with the
+     * limit, the rows of those ids are read afterwards, so nothing is paginated in memory.
+     * One extra id is read to tell whether another page follows.
+     */
     @Override
-    public List<OrderResponse> getOrdersByStatuses(List<OrderStatus> statuses) {
-        return orderRepository.findByStatusIn(statuses).stream()
-                .map(o -> orderMapper.toDto(o, safeGetUser(o.getUserId())))
+    public CursorPage<OrderResponse> getOrdersByStatuses(List<OrderStatus> statuses, String cursor, int limit) {
+        String[] statusNames = statuses.stream().map(Enum::name).toArray(String[]::new);
+        List<Long> ids = cursor == null || cursor.isBlank()
+                ? orderRepository.findPageIdsByStatusIn(statusNames, limit + 1)
+                : findPageIdsAfter(statusNames, OrderCursor.decode(cursor), limit + 1);
+        return toPage(ids, limit);
+    }
+
+    /**
+     * Newest-first keyset page of one user's orders, read the same way as {@link #getOrdersByStatuses}.
+     * The page ids come from {@code idx_orders_user_creation_date_id} alone, so a page costs the
+     * same however many orders the user has.
+     */
+    @Override
+    public CursorPage<OrderResponse> getOrdersByUser(Long userId, List<OrderStatus> statuses, String cursor, int limit) {
+        Limit fetchLimit = Limit.of(limit + 1);
+        boolean allStatuses = statuses == null || statuses.isEmpty();
+        List<Long> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = allStatuses
+                    ? orderRepository.findUserPageIds(userId, fetchLimit)
+                    : orderRepository.findUserPageIdsByStatusIn(userId, statuses, fetchLimit);
+        } else {
+            OrderCursor after = OrderCursor.decode(cursor);
+            ids = allStatuses
+                    ? orderRepository.findUserPageIdsAfter(userId, after.creationDate(), after.id(), fetchLimit)
+                    : orderRepository.findUserPageIdsByStatusInAfter(userId, statuses,
+                            after.creationDate(), after.id(), fetchLimit);
+        }
+        return toPage(ids, limit);
+    }
+
+    @Override
+    public CursorPage<OrderResponse> getMyOrders(Long credentialsId, List<OrderStatus> statuses, String cursor, int limit) {
+        if (credentialsId == null) {
+            throw new AccessDeniedException("Missing X-User-Id");
+        }
+        return getOrdersByUser(resolveActualUserId(credentialsId), statuses, cursor, limit);
+    }
+
+    /**
+     * Turns up to {@code limit + 1} page ids into a page: the extra id only tells that another page follows.
+     */
+    private CursorPage<OrderResponse> toPage(List<Long> ids, int limit) {
+        boolean hasNext = ids.size() > limit;
+        List<Long> pageIds = hasNext ? ids.subList(0, limit) : ids;
+        if (pageIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        Map<Long, OrderResponse> ordersById = orderViewAssembler.assemble(
+                orderRepository.findViewRowsByIdIn(pageIds));
+        List<OrderResponse> page = pageIds.stream()
+                .map(ordersById::get)
+                .filter(Objects::nonNull)
                 .toList();
+        if (page.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        OrderResponse last = page.getLast();
+        String nextCursor = hasNext ? new OrderCursor(last.getCreationDate(), last.getId()).encode() : null;
+        return new CursorPage<>(withUsers(page), nextCursor);
     }
 
+    /**
+     * Read-modify-write guarded by {@link Order#getVersion()}: a concurrent change of the same order
+     * (another update or a payment event) fails the flush, and the whole update is retried on a
+     * fresh copy of the order by {@link ConflictRetry}.
+     */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderResponse updateOrder(Long id, OrderRequest request, Long credentialsId) {
+        OrderResponse response = conflictRetry.run("update-order", id,
+                () -> transactionTemplate.execute(status -> applyUpdate(id, request, credentialsId)));
+        orderResponseCache.invalidate(id);
+        return response;
+    }
+
+    private OrderResponse applyUpdate(Long id, OrderRequest request, Long credentialsId) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Order not found with id: " + id));
 
@@ -130,7 +342,8 @@ public class OrderServiceImpl implements OrderService {
         if (!order.getUserId().equals(actualUserId)) {
             throw new AccessDeniedException("Access denied: you can update only your orders");
         }
-
+        OrderStatus statusBefore = order.getStatus();
+        long totalBefore = order.getTotalAmount();
 
         String requestedStatusStr = request.getStatus();
         if (requestedStatusStr != null && !requestedStatusStr.isBlank()) {
@@ -142,25 +355,25 @@ public class OrderServiceImpl implements OrderService {
                 throw new AccessDeniedException("You cannot set payment statuses manually");
             }
 
-            order.setStatus(requested);
+            if (requested != order.getStatus()) {
+                if (!requested.canMoveFrom(order.getStatus())) {
+                    throw new IllegalStatusTransitionException("Order " + id + " cannot move from "
+                            + order.getStatus() + " to " + requested);
+                }
+                order.setStatus(requested);
+            }
         }
 
+        // the new lines are priced at the current item prices
+        List<OrderItem> updatedItems = buildOrderItems(order, request.getItems());
         order.getOrderItems().clear();
-        List<OrderItem> updatedItems = request.getItems().stream()
-                .map(itemRequest -> {
-                    Item item = itemRepository.findById(itemRequest.getItemId())
-                            .orElseThrow(() ->
-                                    new NotFoundException("Item not found with id: " + itemRequest.getItemId()));
-                    return OrderItem.builder()
-                            .order(order)
-                            .item(item)
-                            .quantity(itemRequest.getQuantity())
-                            .build();
-                })
-                .toList();
         order.getOrderItems().addAll(updatedItems);
+        order.setTotalAmount(totalOf(updatedItems));
 
-        Order saved = orderRepository.save(order);
+        // flushed here so the version check runs inside the retry and the response carries the new version
+        Order saved = orderRepository.saveAndFlush(order);
+        orderStatsRollup.changed(saved.getCreationDate(), statusBefore, totalBefore,
+                saved.getStatus(), saved.getTotalAmount());
         UserResponse user = safeGetUser(saved.getUserId());
         return orderMapper.toDto(saved, user);
     }
@@ -181,6 +394,132 @@ public class OrderServiceImpl implements OrderService {
         }
 
         orderRepository.delete(order);
+        orderStatsRollup.removed(order.getCreationDate(), order.getStatus(), order.getTotalAmount());
+        orderResponseCache.invalidateAfterCommit(List.of(id));
+    }
+
+    /**
+     * Attaches users to a list of orders, fetching each distinct user once instead of once per order.
+     */
+    private List<OrderResponse> withUsers(List<OrderResponse> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, UserResponse> usersById = userBatchLoader.loadUsers(
+                orders.stream().map(OrderResponse::getUserId).toList());
+        orders.forEach(order -> orderViewAssembler.withUser(order, usersById.get(order.getUserId())));
+        return orders;
+    }
+
+    private List<Long> findPageIdsAfter(String[] statuses, OrderCursor cursor, int limit) {
+        return orderRepository.findPageIdsByStatusInAfter(statuses, cursor.creationDate(), cursor.id(), limit);
+    }
+
+    private Order newOrder(OrderRequest request) {
+        Order order = orderMapper.toEntity(request);
+
+        order.setStatus(OrderStatus.PENDING);
+        order.setCreationDate(LocalDateTime.now());
+
+        order.setPaymentId(null);
+
+        order.setOrderItems(buildOrderItems(order, request.getItems()));
+        order.setTotalAmount(totalOf(order.getOrderItems()));
+        return order;
+    }
+
+    private static long totalOf(List<OrderItem> orderItems) {
+        long total = 0;
+        for (OrderItem orderItem : orderItems) {
+            total = Money.add(total, Money.lineTotal(orderItem.getUnitPrice(), orderItem.getQuantity()));
+        }
+        return total;
+    }
+
+    private static OrderEvent toOrderEvent(Order order) {
+        return OrderEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .orderId(order.getId())
+                .userId(order.getUserId())
+                .paymentAmount(Money.toDecimal(order.getTotalAmount()))
+                .build();
+    }
+
+    /**
+     * Writes the orders, their outbox events and rollup deltas in one transaction and detaches the orders
+     * afterwards, so a long batch does not grow the persistence context.
+     */
+    private void persist(List<Order> orders) {
+        transactionTemplate.executeWithoutResult(status -> {
+            orderRepository.saveAll(orders);
+            orderEventsOutbox.append(orders.stream().map(OrderServiceImpl::toOrderEvent).toList());
+            orders.forEach(order -> orderStatsRollup.added(order.getCreationDate(), order.getStatus(),
+                    order.getTotalAmount()));
+            orderRepository.flush();
+            entityManager.clear();
+        });
+    }
+
+    private static BatchOrderResult created(int index, Order order) {
+        return BatchOrderResult.created(index, order.getId());
+    }
+
+    /**
+     * Ids handed out for a rolled back transaction are dropped, otherwise the retry
+     * would treat the order as detached and merge it.
+     */
+    private static void resetIds(Order order) {
+        order.setId(null);
+        order.setVersion(null);
+        order.getOrderItems().forEach(orderItem -> orderItem.setId(null));
+    }
+
+    private String validate(OrderRequest request) {
+        Set<ConstraintViolation<OrderRequest>> violations = validator.validate(request, Create.class);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Resolves all requested items with a single query. Lines referencing the same item
+     * are merged into one {@link OrderItem} with the summed quantity, and every unknown
+     * item id is reported in one {@link NotFoundException}. Each line snapshots the
+     * item's current price.
+     */
+    private List<OrderItem> buildOrderItems(Order order, List<OrderItemRequest> itemRequests) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemRequest itemRequest : itemRequests) {
+            quantities.merge(itemRequest.getItemId(), itemRequest.getQuantity(), Integer::sum);
+        }
+
+        Map<Long, Item> itemsById = itemCatalog.findAllById(quantities.keySet());
+
+        List<Long> missing = quantities.keySet().stream()
+                .filter(itemId -> !itemsById.containsKey(itemId))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new NotFoundException("Item not found with id: " + missing.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(", ")));
+        }
+
+        return quantities.entrySet().stream()
+                .map(entry -> {
+                    Item item = itemsById.get(entry.getKey());
+                    return OrderItem.builder()
+                            .order(order)
+                            .orderCreationDate(order.getCreationDate())
+                            .item(item)
+                            .quantity(entry.getValue())
+                            .unitPrice(Money.toMinorUnits(item.getPrice()))
+                            .build();
+                })
+                .toList();
     }
 
     private static OrderStatus parseStatus(String s) {
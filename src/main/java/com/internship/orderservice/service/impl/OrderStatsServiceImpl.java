@@ -0,0 +1,57 @@
+package com.internship.orderservice.service.impl;
+
+import com.internship.orderservice.config.OrderStatsProperties;
+import com.internship.orderservice.dto.response.OrderDailyStatsResponse;
+import com.internship.orderservice.entity.OrderStatus;
+import com.internship.orderservice.money.Money;
+import com.internship.orderservice.repository.OrderStatsRollup;
+import com.internship.orderservice.service.OrderStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Serves stats from {@code order_daily_stats}, so a request reads at most one row per day and
+ * status whatever the number of orders.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderStatsServiceImpl implements OrderStatsService {
+
+    private final OrderStatsRollup orderStatsRollup;
+    private final OrderStatsProperties orderStatsProperties;
+
+    @Override
+    public List<OrderDailyStatsResponse> getDailyStats(LocalDate from, LocalDate to, List<OrderStatus> statuses) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > orderStatsProperties.getMaxDays()) {
+            throw new IllegalArgumentException("Range must cover at most " + orderStatsProperties.getMaxDays() + " days");
+        }
+        List<OrderStatus> wanted = statuses == null || statuses.isEmpty()
+                ? List.copyOf(EnumSet.allOf(OrderStatus.class))
+                : statuses;
+        return orderStatsRollup.find(from, to, wanted).stream()
+                .map(row -> OrderDailyStatsResponse.builder()
+                        .day(row.day())
+                        .status(row.status().name())
+                        .orderCount(row.orderCount())
+                        .totalAmount(Money.toDecimal(row.totalAmount()))
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public int rebuild() {
+        int rows = orderStatsRollup.rebuild();
+        log.info("Rebuilt order stats rollup: {} row(s)", rows);
+        return rows;
+    }
+}
@@ -0,0 +1,82 @@
+package com.internship.orderservice.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Compares rows/sec of looping {@code POST /api/orders} against {@code POST /api/orders/batch}.
+ * <p>
+ * Run against a started instance (the user-service mapping for {@code bench.user-id} must exist):
+ * <pre>
+ * java -Dbench.url=http://localhost:8083 -Dbench.item-id=1 -Dbench.orders=5000 \
+ *   -cp target/test-classes com.internship.orderservice.benchmark.BulkCreateBenchmark
+ * </pre>
+ * Every order carries {@code bench.items-per-order} lines, so rows = orders * (1 + lines).
+ */
+public final class BulkCreateBenchmark {
+
+    private BulkCreateBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("bench.url", "http://localhost:8083");
+        String userId = System.getProperty("bench.user-id", "1");
+        long itemId = Long.getLong("bench.item-id", 1);
+        int orders = Integer.getInteger("bench.orders", 5_000);
+        int linesPerOrder = Integer.getInteger("bench.items-per-order", 3);
+        int batchSize = Integer.getInteger("bench.batch-size", 5_000);
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        String order = orderJson(itemId, linesPerOrder);
+        long rows = (long) orders * (1 + linesPerOrder);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < orders; i++) {
+            send(http, URI.create(baseUrl + "/api/orders"), userId, order);
+        }
+        double singleRate = rows / seconds(start);
+
+        start = System.nanoTime();
+        for (int sent = 0; sent < orders; sent += batchSize) {
+            int size = Math.min(batchSize, orders - sent);
+            StringBuilder body = new StringBuilder("{\"orders\":[");
+            for (int i = 0; i < size; i++) {
+                body.append(i == 0 ? "" : ",").append(order);
+            }
+            send(http, URI.create(baseUrl + "/api/orders/batch"), userId, body.append("]}").toString());
+        }
+        double batchRate = rows / seconds(start);
+
+        System.out.printf("single: %10.1f rows/s%n", singleRate);
+        System.out.printf("batch:  %10.1f rows/s (x%.1f)%n", batchRate, batchRate / singleRate);
+    }
+
+    private static String orderJson(long itemId, int lines) {
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            items.append(i == 0 ? "" : ",")
+                    .append("{\"itemId\":").append(itemId + i).append(",\"quantity\":1}");
+        }
+        return "{\"items\":[" + items + "]}";
+    }
+
+    private static void send(HttpClient http, URI uri, String userId, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("X-User-Id", userId)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMinutes(5))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(uri + " -> " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    }
+}
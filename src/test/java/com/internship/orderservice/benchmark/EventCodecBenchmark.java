@@ -0,0 +1,132 @@
+package com.internship.orderservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.orderservice.kafka.codec.OrderEventCodec;
+import com.internship.orderservice.kafka.codec.PaymentEventCodec;
+import com.internship.orderservice.kafka.dto.OrderEvent;
+import com.internship.orderservice.kafka.dto.PaymentEvent;
+import com.internship.orderservice.kafka.dto.PaymentStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode throughput of the binary event codec against the Spring Kafka JSON (de)serializers.
+ * <p>
+ * Run after {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *   com.internship.orderservice.benchmark.EventCodecBenchmark
+ * </pre>
+ * Bytes per event are printed before the JMH run; regular JMH options (e.g. {@code -f 1 -wi 2}) are passed through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventCodecBenchmark {
+
+    private final OrderEventCodec orderCodec = new OrderEventCodec();
+    private final PaymentEventCodec paymentCodec = new PaymentEventCodec();
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>(new ObjectMapper());
+    private final JsonDeserializer<OrderEvent> orderJsonDeserializer =
+            new JsonDeserializer<>(OrderEvent.class, new ObjectMapper(), false);
+    private final JsonDeserializer<PaymentEvent> paymentJsonDeserializer =
+            new JsonDeserializer<>(PaymentEvent.class, new ObjectMapper(), false);
+
+    private OrderEvent orderEvent;
+    private PaymentEvent paymentEvent;
+    private byte[] orderBinary;
+    private byte[] orderJson;
+    private byte[] paymentBinary;
+    private byte[] paymentJson;
+
+    @Setup
+    public void setUp() {
+        orderEvent = sampleOrderEvent();
+        paymentEvent = samplePaymentEvent();
+        orderBinary = orderCodec.encode(orderEvent);
+        orderJson = jsonSerializer.serialize("orders", orderEvent);
+        paymentBinary = paymentCodec.encode(paymentEvent);
+        paymentJson = jsonSerializer.serialize("payments", paymentEvent);
+    }
+
+    @Benchmark
+    public byte[] orderEncodeBinary() {
+        return orderCodec.encode(orderEvent);
+    }
+
+    @Benchmark
+    public byte[] orderEncodeJson() {
+        return jsonSerializer.serialize("orders", orderEvent);
+    }
+
+    @Benchmark
+    public OrderEvent orderDecodeBinary() {
+        return orderCodec.decode(orderBinary);
+    }
+
+    @Benchmark
+    public OrderEvent orderDecodeJson() {
+        return orderJsonDeserializer.deserialize("orders", orderJson);
+    }
+
+    @Benchmark
+    public byte[] paymentEncodeBinary() {
+        return paymentCodec.encode(paymentEvent);
+    }
+
+    @Benchmark
+    public byte[] paymentEncodeJson() {
+        return jsonSerializer.serialize("payments", paymentEvent);
+    }
+
+    @Benchmark
+    public PaymentEvent paymentDecodeBinary() {
+        return paymentCodec.decode(paymentBinary);
+    }
+
+    @Benchmark
+    public PaymentEvent paymentDecodeJson() {
+        return paymentJsonDeserializer.deserialize("payments", paymentJson);
+    }
+
+    private static OrderEvent sampleOrderEvent() {
+        return new OrderEvent(UUID.randomUUID().toString(), 1_234_567L, 42_000L, new BigDecimal("1299.90"));
+    }
+
+    private static PaymentEvent samplePaymentEvent() {
+        return new PaymentEvent(UUID.randomUUID().toString(), 1_234_567L, UUID.randomUUID().toString(),
+                PaymentStatus.SUCCESS);
+    }
+
+    public static void main(String[] args) throws Exception {
+        EventCodecBenchmark sizes = new EventCodecBenchmark();
+        sizes.setUp();
+        System.out.printf("OrderEvent:   binary=%d B, json=%d B%n", sizes.orderBinary.length, sizes.orderJson.length);
+        System.out.printf("PaymentEvent: binary=%d B, json=%d B%n", sizes.paymentBinary.length, sizes.paymentJson.length);
+
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(EventCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
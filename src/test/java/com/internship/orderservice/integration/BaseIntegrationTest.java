@@ -1,6 +1,5 @@
 package com.internship.orderservice.integration;
 
-import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -25,17 +24,15 @@ public abstract class BaseIntegrationTest {
 
     protected static WireMockServer WIREMOCK;
 
+    // Shared by all test classes: the Spring context is cached across classes and keeps
+    // the container and WireMock addresses, so both stay up until the JVM exits.
     @BeforeAll
     static void startInfra() {
         if (!POSTGRES.isRunning()) POSTGRES.start();
-        WIREMOCK = new WireMockServer(WireMockConfiguration.options().dynamicPort());
-        WIREMOCK.start();
-    }
-
-    @AfterAll
-    static void stopInfra() {
-        if (WIREMOCK != null) WIREMOCK.stop();
-        if (POSTGRES != null) POSTGRES.stop();
+        if (WIREMOCK == null) {
+            WIREMOCK = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+            WIREMOCK.start();
+        }
     }
 
     @DynamicPropertySource
@@ -0,0 +1,132 @@
+package com.internship.orderservice.integration;
+
+import com.internship.orderservice.cache.OrderResponseCache;
+import com.internship.orderservice.dto.response.OrderResponse;
+import com.internship.orderservice.kafka.CacheInvalidationBus;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs the invalidation bus against an embedded broker. The scheduled flush is pushed out of the way
+ * so the test decides when a coalescing window closes.
+ */
+@DirtiesContext
+@EmbeddedKafka(partitions = 1, topics = CacheInvalidationIntegrationTest.TOPIC)
+@TestPropertySource(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "app.kafka.enabled=true",
+        "app.kafka.invalidations-topic=" + CacheInvalidationIntegrationTest.TOPIC,
+        "app.kafka.orders-topic=orders-invalidations-it",
+        "app.kafka.payments-topic=payments-invalidations-it",
+        "app.kafka.consumer-group=invalidations-it",
+        "app.cache-invalidation.coalesce-window=PT1H"
+})
+public class CacheInvalidationIntegrationTest extends BaseIntegrationTest {
+
+    static final String TOPIC = "invalidations-it";
+
+    @Autowired
+    EmbeddedKafkaBroker broker;
+
+    @Autowired
+    KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Autowired
+    CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    OrderResponseCache orderResponseCache;
+
+    @BeforeEach
+    void waitForListener() {
+        ContainerTestUtils.waitForAssignment(listenerRegistry.getListenerContainer(CacheInvalidationBus.LISTENER_ID), 1);
+    }
+
+    private static OrderResponse response(long id) {
+        return OrderResponse.builder()
+                .id(id)
+                .status("PENDING")
+                .version(0L)
+                .items(List.of())
+                .build();
+    }
+
+    @Test
+    void remoteInvalidation_EvictsLocalEntry_OwnMessagesAreSkipped_NoOffsetsCommitted() throws Exception {
+        orderResponseCache.put(response(101L));
+        orderResponseCache.put(response(102L));
+
+        KafkaTemplate<String, String> template = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()),
+                new StringSerializer(), new StringSerializer()));
+        template.send(TOPIC, "order:102", invalidationBus.getInstanceId());
+        template.send(TOPIC, "order:101", "another-instance");
+        template.flush();
+        template.destroy();
+
+        await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(orderResponseCache.get(101L, 0L)).isNull());
+        assertThat(orderResponseCache.get(102L, 0L)).isNotNull();
+
+        try (AdminClient admin = AdminClient.create(
+                Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()))) {
+            assertThat(admin.listConsumerGroupOffsets(invalidationBus.getGroupId())
+                    .partitionsToOffsetAndMetadata().get()).isEmpty();
+        }
+    }
+
+    @Test
+    void localInvalidations_AreCoalescedPerKey() {
+        for (int i = 0; i < 20; i++) {
+            invalidationBus.publish(OrderResponseCache.NAME, List.of(201L, 202L));
+        }
+        invalidationBus.flush();
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("invalidations-it-reader", "false", broker);
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(
+                consumerProps, new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+            List<String> keys = new ArrayList<>();
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+                keys.addAll(invalidatedKeys(consumer, Duration.ofMillis(200)));
+                assertThat(keys).hasSizeGreaterThanOrEqualTo(2);
+            });
+            keys.addAll(invalidatedKeys(consumer, Duration.ofMillis(500)));
+            assertThat(keys).containsExactlyInAnyOrder("order:201", "order:202");
+        }
+    }
+
+    private static List<String> invalidatedKeys(Consumer<String, String> consumer, Duration timeout) {
+        return StreamSupport.stream(KafkaTestUtils.getRecords(consumer, timeout).spliterator(), false)
+                .map(ConsumerRecord::key)
+                .filter(key -> key.startsWith("order:20"))
+                .toList();
+    }
+}
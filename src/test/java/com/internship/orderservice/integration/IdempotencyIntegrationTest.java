@@ -0,0 +1,188 @@
+package com.internship.orderservice.integration;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.internship.orderservice.controller.OrderController;
+import com.internship.orderservice.entity.Item;
+import com.internship.orderservice.repository.ItemRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class IdempotencyIntegrationTest extends BaseIntegrationTest {
+
+    private static final String USER_HEADER = "X-User-Id";
+    private static final long CREDENTIALS_ID = 21L;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        truncate();
+        WIREMOCK.resetAll();
+        String userJson = """
+                  {"id": %d, "name":"Ivan", "surname":"Petrov", "email":"ivan@gmail.com"}
+                """.formatted(CREDENTIALS_ID);
+        WIREMOCK.stubFor(WireMock.get(urlEqualTo("/api/users/by-credentials-id/" + CREDENTIALS_ID))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(userJson)));
+        WIREMOCK.stubFor(WireMock.get(urlEqualTo("/api/users/" + CREDENTIALS_ID))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(userJson)));
+        item = itemRepository.save(new Item(null, "Keyboard", new BigDecimal("49.90")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        truncate();
+        WIREMOCK.resetAll();
+    }
+
+    private void truncate() {
+        jdbcTemplate.execute("truncate table archive.order_items, archive.orders, order_items, orders, items,"
+                + " order_events_outbox, idempotency_keys");
+    }
+
+    private String body(int quantity) {
+        return """
+                  {"items": [{"itemId": %d, "quantity": %d}]}
+                """.formatted(item.getId(), quantity);
+    }
+
+    private MvcResult create(String key, String body) throws Exception {
+        return mockMvc.perform(post("/api/orders")
+                        .header(USER_HEADER, CREDENTIALS_ID)
+                        .header(OrderController.IDEMPOTENCY_KEY_HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn();
+    }
+
+    private long orderCount() {
+        return jdbcTemplate.queryForObject("select count(*) from orders", Long.class);
+    }
+
+    private static long idOf(MvcResult result) throws Exception {
+        return ((Number) JsonPath.read(result.getResponse().getContentAsString(), "$.id")).longValue();
+    }
+
+    @Test
+    void createOrder_RepeatedKey_ReplaysFirstResponse() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        MvcResult first = create(key, body(2));
+        MvcResult second = create(key, body(2));
+
+        assertThat(first.getResponse().getStatus()).isEqualTo(201);
+        assertThat(first.getResponse().getHeader(OrderController.IDEMPOTENT_REPLAYED_HEADER)).isNull();
+        assertThat(second.getResponse().getStatus()).isEqualTo(201);
+        assertThat(second.getResponse().getHeader(OrderController.IDEMPOTENT_REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(second.getResponse().getHeader("Location")).isEqualTo(first.getResponse().getHeader("Location"));
+        assertThat(idOf(second)).isEqualTo(idOf(first));
+        assertThat(orderCount()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from order_events_outbox", Long.class)).isEqualTo(1);
+        WIREMOCK.verify(1, getRequestedFor(urlEqualTo("/api/users/by-credentials-id/" + CREDENTIALS_ID)));
+    }
+
+    @Test
+    void createOrder_KeyReusedWithDifferentBody_Returns409() throws Exception {
+        String key = UUID.randomUUID().toString();
+        create(key, body(1));
+
+        mockMvc.perform(post("/api/orders")
+                        .header(USER_HEADER, CREDENTIALS_ID)
+                        .header(OrderController.IDEMPOTENCY_KEY_HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(3)))
+                .andExpect(status().isConflict());
+
+        assertThat(orderCount()).isEqualTo(1);
+    }
+
+    @Test
+    void createOrder_FailedAttemptReleasesKey() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String unknownItem = """
+                  {"items": [{"itemId": %d, "quantity": 1}]}
+                """.formatted(item.getId() + 1_000);
+
+        assertThat(create(key, unknownItem).getResponse().getStatus()).isEqualTo(404);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from idempotency_keys", Long.class)).isZero();
+
+        mockMvc.perform(post("/api/orders")
+                        .header(USER_HEADER, CREDENTIALS_ID)
+                        .header(OrderController.IDEMPOTENCY_KEY_HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(1)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(OrderController.IDEMPOTENT_REPLAYED_HEADER));
+    }
+
+    @Test
+    void createOrder_ConcurrentDuplicates_CreateOneOrder() throws Exception {
+        String key = UUID.randomUUID().toString();
+        int clients = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<MvcResult>> results = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                Callable<MvcResult> call = () -> {
+                    start.await();
+                    return create(key, body(2));
+                };
+                results.add(pool.submit(call));
+            }
+            start.countDown();
+
+            Long orderId = null;
+            for (Future<MvcResult> result : results) {
+                MvcResult response = result.get();
+                assertThat(response.getResponse().getStatus()).isEqualTo(201);
+                long id = idOf(response);
+                if (orderId == null) {
+                    orderId = id;
+                }
+                assertThat(id).isEqualTo(orderId);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(orderCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,152 @@
+package com.internship.orderservice.integration;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.internship.orderservice.actuator.OrderStatsEndpoint;
+import com.internship.orderservice.archive.OrderArchiver;
+import com.internship.orderservice.config.OrderArchiveProperties;
+import com.internship.orderservice.repository.OrderArchive;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class OrderArchiveIntegrationTest extends BaseIntegrationTest {
+
+    private static final long USER_ID = 51L;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    OrderStatsEndpoint orderStatsEndpoint;
+
+    @Autowired
+    OrderArchive orderArchive;
+
+    private MeterRegistry meterRegistry;
+    private OrderArchiver archiver;
+    private long itemId;
+
+    @BeforeEach
+    void setUp() {
+        truncate();
+        WIREMOCK.resetAll();
+        WIREMOCK.stubFor(WireMock.get(urlEqualTo("/api/users/" + USER_ID))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("""
+                                  {"id": %d, "name":"Olga", "surname":"Ivanova", "email":"olga@gmail.com"}
+                                """.formatted(USER_ID))));
+        itemId = jdbcTemplate.queryForObject(
+                "insert into items (name, price) values ('Archive Item', 5.00) returning id", Long.class);
+
+        OrderArchiveProperties properties = new OrderArchiveProperties();
+        properties.setMinAge(Duration.ofDays(30));
+        meterRegistry = new SimpleMeterRegistry();
+        archiver = new OrderArchiver(orderArchive, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        truncate();
+        WIREMOCK.resetAll();
+    }
+
+    private void truncate() {
+        jdbcTemplate.execute("truncate table archive.order_items, archive.orders, order_items, orders,"
+                + " order_daily_stats");
+    }
+
+    private long insertOrder(String status, LocalDateTime creationDate) {
+        Long id = jdbcTemplate.queryForObject("""
+                insert into orders (user_id, status, creation_date, total_amount)
+                values (?, ?, ?, 10.00) returning id
+                """, Long.class, USER_ID, status, creationDate);
+        jdbcTemplate.update("""
+                insert into order_items (order_id, order_creation_date, item_id, quantity, unit_price)
+                values (?, ?, ?, 2, 5.00)
+                """, id, creationDate, itemId);
+        return id;
+    }
+
+    private double archived(String table) {
+        return meterRegistry.get("order.archive.rows").tag("table", table).counter().count();
+    }
+
+    @Test
+    void archiveChunk_MovesOnlyOldTerminalOrders_InBoundedChunks() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        long delivered = insertOrder("DELIVERED", old);
+        long cancelled = insertOrder("CANCELLED", old.plusMinutes(1));
+        long failed = insertOrder("FAILED", old.plusMinutes(2));
+        long pending = insertOrder("PENDING", old);
+        long recent = insertOrder("DELIVERED", LocalDateTime.now().minusDays(1));
+
+        OrderArchive.Moved first = archiver.archiveChunk(2);
+        assertThat(first.orders()).isEqualTo(2);
+        assertThat(first.lines()).isEqualTo(2);
+        assertThat(meterRegistry.get("order.archive.lag").gauge().value()).isPositive();
+
+        OrderArchive.Moved second = archiver.archiveChunk(2);
+        assertThat(second.orders()).isEqualTo(1);
+        assertThat(meterRegistry.get("order.archive.lag").gauge().value()).isZero();
+        assertThat(archived("orders")).isEqualTo(3);
+        assertThat(archived("order_items")).isEqualTo(3);
+
+        assertThat(jdbcTemplate.queryForList("select id from archive.orders order by creation_date", Long.class))
+                .containsExactly(delivered, cancelled, failed);
+        assertThat(jdbcTemplate.queryForList("select id from orders order by id", Long.class))
+                .containsExactlyInAnyOrder(pending, recent);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from order_items", Long.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from archive.order_items", Long.class)).isEqualTo(3);
+    }
+
+    @Test
+    void archivedOrders_AreStillServedById_ByIds_AndCountedByStatsRebuild() throws Exception {
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        long archived = insertOrder("DELIVERED", old);
+        long hot = insertOrder("PENDING", old);
+        archiver.archiveChunk(10);
+
+        mockMvc.perform(get("/api/orders/{id}", archived))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.status").value("DELIVERED"))
+                .andExpect(jsonPath("$.totalAmount").value(10.0))
+                .andExpect(jsonPath("$.items[0].itemId").value(itemId))
+                .andExpect(jsonPath("$.items[0].quantity").value(2))
+                .andExpect(jsonPath("$.user.email").value("olga@gmail.com"));
+
+        mockMvc.perform(get("/api/orders/by-ids")
+                        .param("ids", String.valueOf(hot), String.valueOf(archived)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(archived))
+                .andExpect(jsonPath("$[1].id").value(hot));
+
+        mockMvc.perform(get("/api/orders/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+
+        orderStatsEndpoint.rebuild();
+        assertThat(jdbcTemplate.queryForObject(
+                "select coalesce(sum(order_count), 0) from order_daily_stats", Long.class)).isEqualTo(2L);
+    }
+}
@@ -1,7 +1,10 @@
 package com.internship.orderservice.integration;
 
+import com.internship.orderservice.controller.OrderController;
 import com.internship.orderservice.entity.Item;
-import com.internship.orderservice.kafka.OrderEventsProducer;
+import com.internship.orderservice.kafka.PaymentEventsProcessor;
+import com.internship.orderservice.kafka.dto.PaymentEvent;
+import com.internship.orderservice.kafka.dto.PaymentStatus;
 import com.internship.orderservice.repository.ItemRepository;
 import com.internship.orderservice.repository.OrderItemRepository;
 import com.internship.orderservice.repository.OrderRepository;
@@ -9,27 +12,35 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import com.jayway.jsonpath.JsonPath;
 import com.github.tomakehurst.wiremock.client.WireMock;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
 
 public class OrderControllerIntegrationTest extends BaseIntegrationTest {
 
@@ -45,8 +56,11 @@ public class OrderControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     OrderItemRepository orderItemRepository;
 
-    @MockBean
-    OrderEventsProducer orderEventsProducer;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PaymentEventsProcessor paymentEventsProcessor;
 
     private static final String USER_HEADER = "X-User-Id";
 
@@ -55,6 +69,7 @@ public class OrderControllerIntegrationTest extends BaseIntegrationTest {
         orderItemRepository.deleteAll();
         orderRepository.deleteAll();
         itemRepository.deleteAll();
+        jdbcTemplate.update("delete from order_events_outbox");
         WIREMOCK.resetAll();
     }
 
@@ -63,6 +78,7 @@ public class OrderControllerIntegrationTest extends BaseIntegrationTest {
         orderItemRepository.deleteAll();
         orderRepository.deleteAll();
         itemRepository.deleteAll();
+        jdbcTemplate.update("delete from order_events_outbox");
         WIREMOCK.resetAll();
     }
 
@@ -115,6 +131,7 @@ public class OrderControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.userId").value((int) actualUserId))
                 .andExpect(jsonPath("$.status").value("PENDING"))
                 .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.totalAmount").value(44.88))
                 .andExpect(jsonPath("$.user.id").value((int) actualUserId))
                 .andExpect(jsonPath("$.user.email").value("margo@gmail.com"));
 
@@ -221,6 +238,42 @@ public class OrderControllerIntegrationTest extends BaseIntegrationTest {
         WIREMOCK.verify(2, getRequestedFor(urlEqualTo("/api/users/" + actualUserId)));
     }
 
+    @Test
+    void getOrderById_KeepsPriceSnapshotAfterItemPriceChange() throws Exception {
+        Item item = itemRepository.save(new Item(null, "Keyboard", new BigDecimal("49.99")));
+        long credentialsId = 12L, actualUserId = 12L;
+
+        String userJson = """
+                  {"id": %d, "name":"Alex", "surname":"Doe", "email":"alex@example.com"}
+                """.formatted(actualUserId);
+        stubUserMappingAndDetails(credentialsId, actualUserId, userJson);
+
+        String createJson = """
+                  {
+                    "items": [
+                      {"itemId": %d, "quantity": 3}
+                    ]
+                  }
+                """.formatted(item.getId());
+
+        MvcResult created = mockMvc.perform(post("/api/orders")
+                        .header(USER_HEADER, credentialsId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createJson))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.totalAmount").value(149.97))
+                .andReturn();
+        long orderId = ((Number) JsonPath.read(created.getResponse().getContentAsString(), "$.id")).longValue();
+
+        item.setPrice(new BigDecimal("59.99"));
+        itemRepository.save(item);
+
+        mockMvc.perform(get("/api/orders/{id}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].unitPrice").value(49.99))
+                .andExpect(jsonPath("$.totalAmount").value(149.97));
+    }
+
     @Test
     void getOrderById_NotFound_Returns404() throws Exception {
         mockMvc.perform(get("/api/orders/{id}", 99999))
@@ -458,6 +511,124 @@ public class OrderControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.message", containsString("Item not found")));
     }
 
+    @Test
+    void updateOrder_IllegalStatusTransition_Returns409AndKeepsStatus() throws Exception {
+        Item i = itemRepository.save(new Item(null, "Desk Lamp", new BigDecimal("19.90")));
+        long credentialsId = 13L, actualUserId = 13L;
+
+        String userJson = """
+                  {"id": %d, "name":"Oleg", "surname":"Ivanov", "email":"oleg@example.com"}
+                """.formatted(actualUserId);
+        stubUserMappingAndDetails(credentialsId, actualUserId, userJson);
+
+        var created = mockMvc.perform(post("/api/orders")
+                        .header(USER_HEADER, credentialsId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                  {"items": [{"itemId": %d, "quantity": 1}]}
+                                """.formatted(i.getId())))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long orderId = ((Number) JsonPath.read(created.getResponse().getContentAsString(), "$.id")).longValue();
+
+        mockMvc.perform(put("/api/orders/{id}", orderId)
+                        .header(USER_HEADER, credentialsId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                  {"status": "DELIVERED", "items": [{"itemId": %d, "quantity": 2}]}
+                                """.formatted(i.getId())))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", containsString("cannot move from PENDING to DELIVERED")));
+
+        assertThat(jdbcTemplate.queryForObject("select status from orders where id = ?", String.class, orderId))
+                .isEqualTo("PENDING");
+    }
+
+    @Test
+    void updateOrder_BumpsVersionExposedInResponses() throws Exception {
+        Item i = itemRepository.save(new Item(null, "Notebook", new BigDecimal("4.50")));
+        long credentialsId = 14L, actualUserId = 14L;
+
+        String userJson = """
+                  {"id": %d, "name":"Anna", "surname":"Orlova", "email":"anna@example.com"}
+                """.formatted(actualUserId);
+        stubUserMappingAndDetails(credentialsId, actualUserId, userJson);
+
+        var created = mockMvc.perform(post("/api/orders")
+                        .header(USER_HEADER, credentialsId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                  {"items": [{"itemId": %d, "quantity": 1}]}
+                                """.formatted(i.getId())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.version").value(0))
+                .andReturn();
+        long orderId = ((Number) JsonPath.read(created.getResponse().getContentAsString(), "$.id")).longValue();
+
+        mockMvc.perform(put("/api/orders/{id}", orderId)
+                        .header(USER_HEADER, credentialsId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                  {"status": "PROCESSING", "items": [{"itemId": %d, "quantity": 3}]}
+                                """.formatted(i.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+
+        mockMvc.perform(get("/api/orders/{id}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    void getOrderById_ConditionalAndCachedReadsFollowVersion() throws Exception {
+        Item i = itemRepository.save(new Item(null, "Pen", new BigDecimal("1.20")));
+        long credentialsId = 15L, actualUserId = 15L;
+
+        String userJson = """
+                  {"id": %d, "name":"Ilya", "surname":"Smirnov", "email":"ilya@example.com"}
+                """.formatted(actualUserId);
+        stubUserMappingAndDetails(credentialsId, actualUserId, userJson);
+
+        var created = mockMvc.perform(post("/api/orders")
+                        .header(USER_HEADER, credentialsId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                  {"items": [{"itemId": %d, "quantity": 1}]}
+                                """.formatted(i.getId())))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long orderId = ((Number) JsonPath.read(created.getResponse().getContentAsString(), "$.id")).longValue();
+
+        mockMvc.perform(get("/api/orders/{id}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(header().string("Cache-Control", containsString("no-cache")));
+
+        mockMvc.perform(get("/api/orders/{id}", orderId).header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(content().string(""));
+
+        // one lookup for the create, one for the first GET, which filled the response cache
+        WIREMOCK.verify(2, getRequestedFor(urlEqualTo("/api/users/" + actualUserId)));
+
+        paymentEventsProcessor.process(List.of(
+                new PaymentEvent(UUID.randomUUID().toString(), orderId, "pay-1", PaymentStatus.SUCCESS)));
+
+        mockMvc.perform(get("/api/orders/{id}", orderId).header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.status").value("PAID"))
+                .andExpect(jsonPath("$.paymentId").value("pay-1"));
+
+        jdbcTemplate.update("update orders set status = 'DELIVERED', version = version + 1 where id = ?", orderId);
+
+        mockMvc.perform(get("/api/orders/{id}", orderId).header("If-None-Match", "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(header().string("Cache-Control", "max-age=86400, private"));
+    }
+
 
     @Test
     void createOrder_EmptyItems_Returns400() throws Exception {
@@ -603,6 +774,47 @@ public class OrderControllerIntegrationTest extends BaseIntegrationTest {
                         org.hamcrest.Matchers.containsInAnyOrder((int) idA, (int) idB)));
     }
 
+    @Test
+    void getOrdersByIds_UsesBulkUserLookup() throws Exception {
+        Item item = itemRepository.save(new Item(null, "Cable", new BigDecimal("5.00")));
+        long cred = 301L, userId = 301L;
+
+        String userJson = """
+                  {"id": %d, "name":"C", "surname":"C", "email":"c@example.com"}
+                """.formatted(userId);
+        stubUserMappingAndDetails(cred, userId, userJson);
+
+        long[] ids = new long[3];
+        for (int i = 0; i < ids.length; i++) {
+            MvcResult res = mockMvc.perform(post("/api/orders")
+                            .header(USER_HEADER, cred)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                      {"items":[{"itemId": %d, "quantity":1}]}
+                                    """.formatted(item.getId())))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            Number idNum = JsonPath.read(res.getResponse().getContentAsString(), "$.id");
+            ids[i] = idNum.longValue();
+        }
+
+        WIREMOCK.stubFor(WireMock.get(urlPathEqualTo("/api/users/by-ids"))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[" + userJson + "]")));
+
+        mockMvc.perform(get("/api/orders/by-ids")
+                        .param("ids", String.valueOf(ids[0]), String.valueOf(ids[1]), String.valueOf(ids[2])))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[*].user.email",
+                        org.hamcrest.Matchers.everyItem(org.hamcrest.Matchers.equalTo("c@example.com"))));
+
+        WIREMOCK.verify(1, getRequestedFor(urlPathEqualTo("/api/users/by-ids"))
+                .withQueryParam("ids", WireMock.equalTo(String.valueOf(userId))));
+        WIREMOCK.verify(ids.length, getRequestedFor(urlEqualTo("/api/users/" + userId)));
+    }
+
     @Test
     void getOrdersByStatuses_ReturnsList() throws Exception {
         Item item = itemRepository.save(new Item(null, "SSD", new BigDecimal("80.00")));
@@ -649,4 +861,208 @@ public class OrderControllerIntegrationTest extends BaseIntegrationTest {
                         org.hamcrest.Matchers.everyItem(org.hamcrest.Matchers.equalTo("PENDING"))));
     }
 
-}
\ No newline at end of file
+    @Test
+    void createOrdersBatch_ReportsPerOrderResultsAndQueuesEvents() throws Exception {
+        Item item = itemRepository.save(new Item(null, "Keyboard", new BigDecimal("30.00")));
+        long cred = 401L, userId = 401L;
+
+        String userJson = """
+                  {"id": %d, "name":"B", "surname":"B", "email":"b@example.com"}
+                """.formatted(userId);
+        stubUserMappingAndDetails(cred, userId, userJson);
+
+        StringBuilder orders = new StringBuilder();
+        int total = 120;
+        for (int i = 0; i < total; i++) {
+            if (i > 0) orders.append(',');
+            long itemId = (i == 7) ? 999_999L : item.getId();
+            int quantity = (i == 11) ? 0 : 2;
+            orders.append("""
+                    {"items":[{"itemId": %d, "quantity": %d}]}""".formatted(itemId, quantity));
+        }
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .header(USER_HEADER, cred)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orders\":[" + orders + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(total - 2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results.length()").value(total))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].orderId").isNumber())
+                .andExpect(jsonPath("$.results[7].status").value("FAILED"))
+                .andExpect(jsonPath("$.results[7].error").value(containsString("999999")))
+                .andExpect(jsonPath("$.results[11].status").value("FAILED"))
+                .andExpect(jsonPath("$.results[11].error").value(containsString("Quantity must be at least 1")));
+
+        org.assertj.core.api.Assertions.assertThat(orderRepository.count()).isEqualTo(total - 2);
+        org.assertj.core.api.Assertions.assertThat(orderItemRepository.count()).isEqualTo(total - 2);
+        org.assertj.core.api.Assertions.assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from order_events_outbox where sent_at is null", Long.class)).isEqualTo(total - 2);
+        WIREMOCK.verify(1, getRequestedFor(urlEqualTo("/api/users/by-credentials-id/" + cred)));
+    }
+
+    @Test
+    void createOrdersBatch_EmptyBatch_Returns400() throws Exception {
+        mockMvc.perform(post("/api/orders/batch")
+                        .header(USER_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orders\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getOrdersByStatuses_PagesWithCursor() throws Exception {
+        Item item = itemRepository.save(new Item(null, "Monitor", new BigDecimal("150.00")));
+        long cred = 501L, userId = 501L;
+
+        String userJson = """
+                  {"id": %d, "name":"P", "surname":"P", "email":"p@example.com"}
+                """.formatted(userId);
+        stubUserMappingAndDetails(cred, userId, userJson);
+        WIREMOCK.stubFor(WireMock.get(urlPathEqualTo("/api/users/by-ids"))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[" + userJson + "]")));
+
+        StringBuilder orders = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            if (i > 0) orders.append(',');
+            orders.append("""
+                    {"items":[{"itemId": %d, "quantity": 1}]}""".formatted(item.getId()));
+        }
+        mockMvc.perform(post("/api/orders/batch")
+                        .header(USER_HEADER, cred)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orders\":[" + orders + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(5));
+
+        java.util.List<Integer> seen = new java.util.ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/api/orders/by-statuses").param("statuses", "PENDING").param("limit", "2");
+            if (cursor != null) request.param("cursor", cursor);
+            MvcResult res = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            seen.addAll(JsonPath.read(res.getResponse().getContentAsString(), "$[*].id"));
+            cursor = res.getResponse().getHeader("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+
+        org.assertj.core.api.Assertions.assertThat(pages).isEqualTo(3);
+        org.assertj.core.api.Assertions.assertThat(seen).hasSize(5).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void getOrdersByStatuses_SeveralStatuses_PagesInCreationOrder() throws Exception {
+        WIREMOCK.stubFor(WireMock.get(urlPathEqualTo("/api/users/by-ids"))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[]")));
+        String[] statuses = {"PAID", "PENDING", "SHIPPED", "CANCELLED", "PENDING", "PAID", "PENDING"};
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        for (int i = 0; i < statuses.length; i++) {
+            Long id = jdbcTemplate.queryForObject(
+                    "insert into orders (user_id, status, creation_date) values (701, ?, now() - ? * interval '1 minute')"
+                            + " returning id", Long.class, statuses[i], statuses.length - i);
+            if (!statuses[i].equals("CANCELLED") && !statuses[i].equals("SHIPPED")) {
+                expected.add(id.intValue());
+            }
+        }
+
+        java.util.List<Integer> seen = new java.util.ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/orders/by-statuses").param("statuses", "PENDING", "PAID").param("limit", "2");
+            if (cursor != null) request.param("cursor", cursor);
+            MvcResult res = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            seen.addAll(JsonPath.read(res.getResponse().getContentAsString(), "$[*].id"));
+            cursor = res.getResponse().getHeader("X-Next-Cursor");
+        } while (cursor != null);
+
+        org.assertj.core.api.Assertions.assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void getOrdersByUser_PagesNewestFirstWithStatusFilter_AndMineResolvesCaller() throws Exception {
+        Item item = itemRepository.save(new Item(null, "Headset", new BigDecimal("35.00")));
+        long cred = 601L, userId = 601L;
+
+        String userJson = """
+                  {"id": %d, "name":"U", "surname":"U", "email":"u@example.com"}
+                """.formatted(userId);
+        stubUserMappingAndDetails(cred, userId, userJson);
+        WIREMOCK.stubFor(WireMock.get(urlPathEqualTo("/api/users/by-ids"))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[" + userJson + "]")));
+        jdbcTemplate.update("insert into orders (user_id, status, creation_date) values (602, 'PENDING', now())");
+
+        StringBuilder orders = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            if (i > 0) orders.append(',');
+            orders.append("""
+                    {"items":[{"itemId": %d, "quantity": 1}]}""".formatted(item.getId()));
+        }
+        mockMvc.perform(post("/api/orders/batch")
+                        .header(USER_HEADER, cred)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orders\":[" + orders + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(5));
+
+        List<Long> created = jdbcTemplate.queryForList(
+                "select id from orders where user_id = ? order by creation_date desc, id desc", Long.class, userId);
+        long cancelled = created.get(3);
+        mockMvc.perform(put("/api/orders/{id}", cancelled)
+                        .header(USER_HEADER, cred)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                  {"status": "CANCELLED", "items": [{"itemId": %d, "quantity": 1}]}
+                                """.formatted(item.getId())))
+                .andExpect(status().isOk());
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/api/orders/by-user/{userId}", userId).param("limit", "2");
+            if (cursor != null) request.param("cursor", cursor);
+            MvcResult res = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            List<Number> ids = JsonPath.read(res.getResponse().getContentAsString(), "$[*].id");
+            ids.forEach(id -> seen.add(id.longValue()));
+            cursor = res.getResponse().getHeader(OrderController.NEXT_CURSOR_HEADER);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).isEqualTo(created);
+
+        mockMvc.perform(get("/api/orders/by-user/{userId}", userId).param("statuses", "CANCELLED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(cancelled));
+
+        mockMvc.perform(get("/api/orders/mine").header(USER_HEADER, cred).param("statuses", "PENDING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[*].userId", everyItem(is((int) userId))));
+    }
+
+    @Test
+    void getOrdersByStatuses_InvalidCursorOrLimit_Returns400() throws Exception {
+        mockMvc.perform(get("/api/orders/by-statuses").param("statuses", "PENDING").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/by-statuses").param("statuses", "PENDING").param("limit", "5000"))
+                .andExpect(status().isBadRequest());
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.internship.orderservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.orderservice.config.OutboxProperties;
+import com.internship.orderservice.kafka.OrderEventsOutbox;
+import com.internship.orderservice.kafka.OrderEventsOutboxRelay;
+import com.internship.orderservice.kafka.OrderEventsProducer;
+import com.internship.orderservice.kafka.dto.OrderEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OrderEventsOutboxIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    OrderEventsOutbox orderEventsOutbox;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from order_events_outbox");
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from order_events_outbox");
+    }
+
+    private static OrderEvent event(long orderId) {
+        return new OrderEvent("evt-" + orderId, orderId, 1L, BigDecimal.TEN);
+    }
+
+    private long count(String where) {
+        return jdbcTemplate.queryForObject("select count(*) from order_events_outbox where " + where, Long.class);
+    }
+
+    @Test
+    void append_IsPartOfTheCallerTransaction() {
+        tx.executeWithoutResult(status -> orderEventsOutbox.append(event(1)));
+        tx.executeWithoutResult(status -> {
+            orderEventsOutbox.append(event(2));
+            status.setRollbackOnly();
+        });
+
+        assertThat(count("sent_at is null")).isEqualTo(1);
+        assertThatThrownBy(() -> orderEventsOutbox.append(event(3)))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    void relay_MarksAcknowledgedEventsSentAndRetriesFailures() {
+        List<OrderEvent> events = LongStream.rangeClosed(1, 10).mapToObj(OrderEventsOutboxIntegrationTest::event).toList();
+        tx.executeWithoutResult(status -> orderEventsOutbox.append(events));
+
+        OrderEventsProducer producer = mock(OrderEventsProducer.class);
+        when(producer.send(any())).thenAnswer(inv -> ((OrderEvent) inv.getArgument(0)).getOrderId() == 5L
+                ? CompletableFuture.failedFuture(new IllegalStateException("broker down"))
+                : CompletableFuture.completedFuture(null));
+
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(4);
+        OrderEventsOutboxRelay relay = new OrderEventsOutboxRelay(
+                jdbcTemplate, producer, objectMapper, properties, Runnable::run, new SimpleMeterRegistry());
+
+        relay.relay();
+
+        verify(producer, times(10)).send(any());
+        assertThat(count("sent_at is not null")).isEqualTo(9);
+        assertThat(count("order_id = 5 and sent_at is null and attempts = 1")).isEqualTo(1);
+
+        // the failed row stays leased, so an immediate second pass publishes nothing
+        relay.relay();
+        verify(producer, times(10)).send(any());
+
+        jdbcTemplate.update("update order_events_outbox set lease_until = now() - interval '1 second' where order_id = 5");
+        doReturn(CompletableFuture.completedFuture(null)).when(producer).send(any());
+        relay.relay();
+        assertThat(count("sent_at is null")).isZero();
+    }
+}
@@ -0,0 +1,163 @@
+package com.internship.orderservice.integration;
+
+import com.internship.orderservice.entity.OrderStatus;
+import com.internship.orderservice.service.OrderExportService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class OrderExportIntegrationTest extends BaseIntegrationTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    OrderExportService orderExportService;
+
+    private long itemId;
+
+    @BeforeEach
+    void setUp() {
+        truncate();
+        itemId = jdbcTemplate.queryForObject(
+                "insert into items (name, price) values ('Export Cable', 7.50) returning id", Long.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        truncate();
+    }
+
+    private void truncate() {
+        jdbcTemplate.execute("truncate table order_items, orders");
+        jdbcTemplate.update("delete from items");
+    }
+
+    /**
+     * Orders spread over 2025; every order gets two lines of the same item.
+     */
+    private void insertOrders(int count, String status) {
+        jdbcTemplate.update("""
+                insert into orders (user_id, status, creation_date)
+                select 1000 + g % 50, ?, timestamp '2025-01-01' + (g * interval '1 minute')
+                from generate_series(1, ?) g
+                """, status, count);
+        jdbcTemplate.update("""
+                insert into order_items (order_id, order_creation_date, item_id, quantity, unit_price)
+                select o.id, o.creation_date, i.id, q, i.price from orders o cross join generate_series(1, 2) q
+                join items i on i.id = ?
+                where not exists (select 1 from order_items oi where oi.order_id = o.id)
+                """, itemId);
+        // fresh statistics, otherwise the planner may still see the tiny tables of earlier tests
+        jdbcTemplate.execute("analyze orders, order_items");
+    }
+
+    @Test
+    void export_WritesOneJsonLinePerOrder() throws Exception {
+        insertOrders(3, "PENDING");
+        insertOrders(2, "SHIPPED");
+
+        MvcResult started = mockMvc.perform(get("/api/orders/export")
+                        .param("statuses", "PENDING")
+                        .param("from", FROM.toString())
+                        .param("to", TO.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(3);
+        for (String line : lines) {
+            assertThat((String) JsonPath.read(line, "$.status")).isEqualTo("PENDING");
+            assertThat((Integer) JsonPath.read(line, "$.items.length()")).isEqualTo(2);
+            assertThat((String) JsonPath.read(line, "$.items[0].name")).isEqualTo("Export Cable");
+            assertThat((Double) JsonPath.read(line, "$.items[0].price")).isEqualTo(7.5);
+        }
+    }
+
+    @Test
+    void export_InvalidRange_Returns400() throws Exception {
+        mockMvc.perform(get("/api/orders/export")
+                        .param("statuses", "PENDING")
+                        .param("from", TO.toString())
+                        .param("to", FROM.toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void export_LargeDataset_KeepsHeapBounded() throws Exception {
+        int orders = 200_000;
+        insertOrders(orders, "PENDING");
+
+        long baseline = usedHeapAfterGc();
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream(25_000);
+
+        long exported = orderExportService.exportOrders(List.of(OrderStatus.PENDING), FROM, TO, out);
+
+        assertThat(exported).isEqualTo(orders);
+        assertThat(out.lines).isEqualTo(orders);
+        // the materialized result (~200k orders, ~400k lines, tens of MB of JSON) would be far larger
+        assertThat(out.maxUsedHeap - baseline).isLessThan(64L * 1024 * 1024);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Discards the export but counts lines and samples the retained heap every {@code sampleEvery} lines.
+     */
+    private static final class HeapSamplingOutputStream extends OutputStream {
+
+        private final int sampleEvery;
+        private long lines;
+        private long maxUsedHeap;
+
+        private HeapSamplingOutputStream(int sampleEvery) {
+            this.sampleEvery = sampleEvery;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % sampleEvery == 0) {
+                maxUsedHeap = Math.max(maxUsedHeap, usedHeapAfterGc());
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.internship.orderservice.integration;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.internship.orderservice.entity.Item;
+import com.internship.orderservice.repository.ItemRepository;
+import com.internship.orderservice.repository.OrderPartitions;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class OrderPartitionsIntegrationTest extends BaseIntegrationTest {
+
+    private static final String USER_HEADER = "X-User-Id";
+    private static final long CREDENTIALS_ID = 41L;
+    private static final String PARTITIONS_SQL = """
+            select c.relname from pg_inherits i
+              join pg_class c on c.oid = i.inhrelid
+              join pg_class p on p.oid = i.inhparent
+             where p.relname = ?
+            """;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    OrderPartitions orderPartitions;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        truncate();
+        WIREMOCK.resetAll();
+        String userJson = """
+                  {"id": %d, "name":"Olga", "surname":"Ivanova", "email":"olga@gmail.com"}
+                """.formatted(CREDENTIALS_ID);
+        WIREMOCK.stubFor(WireMock.get(urlEqualTo("/api/users/by-credentials-id/" + CREDENTIALS_ID))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(userJson)));
+        WIREMOCK.stubFor(WireMock.get(urlEqualTo("/api/users/" + CREDENTIALS_ID))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(userJson)));
+        item = itemRepository.save(new Item(null, "Keyboard", new BigDecimal("40.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        truncate();
+        WIREMOCK.resetAll();
+    }
+
+    private void truncate() {
+        jdbcTemplate.execute("truncate table order_items, orders, order_events_outbox, order_daily_stats");
+    }
+
+    private static String suffix(YearMonth month) {
+        return month.format(DateTimeFormatter.ofPattern("yyyyMM"));
+    }
+
+    @Test
+    void createUpcoming_CreatesCurrentAndNextMonthsForBothTables() {
+        orderPartitions.createUpcoming();
+        orderPartitions.createUpcoming();
+
+        List<String> orders = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, "orders");
+        List<String> orderItems = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, "order_items");
+        YearMonth current = YearMonth.now();
+        for (int month = 0; month <= 3; month++) {
+            String suffix = suffix(current.plusMonths(month));
+            assertThat(orders).contains("orders_p" + suffix);
+            assertThat(orderItems).contains("order_items_p" + suffix);
+        }
+    }
+
+    @Test
+    void createUpcoming_MovesRowsOutOfTheDefaultPartitions_ForEveryMissingMonth() {
+        YearMonth current = YearMonth.now();
+        List<Long> orderIds = new ArrayList<>();
+        for (int month = 2; month <= 3; month++) {
+            String suffix = suffix(current.plusMonths(month));
+            jdbcTemplate.execute("alter table order_items detach partition order_items_p" + suffix);
+            jdbcTemplate.execute("alter table orders detach partition orders_p" + suffix);
+            jdbcTemplate.execute("drop table order_items_p" + suffix + ", orders_p" + suffix);
+
+            LocalDateTime createdAt = current.plusMonths(month).atDay(10).atStartOfDay();
+            long orderId = jdbcTemplate.queryForObject(
+                    "insert into orders (user_id, status, creation_date) values (1, 'PENDING', ?) returning id",
+                    Long.class, createdAt);
+            jdbcTemplate.update("insert into order_items (order_id, order_creation_date, item_id, quantity, unit_price)"
+                    + " values (?, ?, ?, 1, 40.00)", orderId, createdAt, item.getId());
+            orderIds.add(orderId);
+        }
+        assertThat(jdbcTemplate.queryForObject("select count(*) from orders_default", Long.class)).isEqualTo(2L);
+
+        orderPartitions.createUpcoming();
+
+        for (int i = 0; i < orderIds.size(); i++) {
+            String suffix = suffix(current.plusMonths(i + 2));
+            assertThat(jdbcTemplate.queryForObject(
+                    "select tableoid::regclass::text from orders where id = ?", String.class, orderIds.get(i)))
+                    .isEqualTo("orders_p" + suffix);
+            assertThat(jdbcTemplate.queryForObject(
+                    "select tableoid::regclass::text from order_items where order_id = ?", String.class, orderIds.get(i)))
+                    .isEqualTo("order_items_p" + suffix);
+        }
+        assertThat(meterRegistry.get("order.partitions.default-rows").gauge().value()).isZero();
+    }
+
+    @Test
+    void order_AndItsLines_AreStoredInTheirMonthPartition_ThroughUpdateAndDelete() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/orders")
+                        .header(USER_HEADER, CREDENTIALS_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                  {"items": [{"itemId": %d, "quantity": 2}]}
+                                """.formatted(item.getId())))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long id = ((Number) JsonPath.read(result.getResponse().getContentAsString(), "$.id")).longValue();
+
+        mockMvc.perform(put("/api/orders/{id}", id)
+                        .header(USER_HEADER, CREDENTIALS_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                  {"status": "PROCESSING", "items": [{"itemId": %d, "quantity": 3}]}
+                                """.formatted(item.getId())))
+                .andExpect(status().isOk());
+
+        String suffix = suffix(YearMonth.now());
+        assertThat(jdbcTemplate.queryForObject(
+                "select tableoid::regclass::text from orders where id = ?", String.class, id))
+                .isEqualTo("orders_p" + suffix);
+        assertThat(jdbcTemplate.queryForList(
+                "select tableoid::regclass::text from order_items where order_id = ?", String.class, id))
+                .containsExactly("order_items_p" + suffix);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from order_items o join orders r on r.id = o.order_id"
+                        + " where o.order_creation_date = r.creation_date and r.id = ?", Long.class, id))
+                .isEqualTo(1L);
+
+        mockMvc.perform(delete("/api/orders/{id}", id).header(USER_HEADER, CREDENTIALS_ID))
+                .andExpect(status().isNoContent());
+        assertThat(jdbcTemplate.queryForObject("select count(*) from order_items", Long.class)).isZero();
+    }
+}
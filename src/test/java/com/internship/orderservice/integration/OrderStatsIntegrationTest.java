@@ -0,0 +1,206 @@
+package com.internship.orderservice.integration;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.internship.orderservice.actuator.OrderStatsEndpoint;
+import com.internship.orderservice.entity.Item;
+import com.internship.orderservice.entity.OrderStatus;
+import com.internship.orderservice.kafka.PaymentEventsProcessor;
+import com.internship.orderservice.kafka.dto.PaymentEvent;
+import com.internship.orderservice.kafka.dto.PaymentStatus;
+import com.internship.orderservice.repository.ItemRepository;
+import com.internship.orderservice.repository.OrderStatsRollup;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class OrderStatsIntegrationTest extends BaseIntegrationTest {
+
+    private static final String USER_HEADER = "X-User-Id";
+    private static final long CREDENTIALS_ID = 31L;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    OrderStatsEndpoint orderStatsEndpoint;
+
+    @Autowired
+    PaymentEventsProcessor paymentEventsProcessor;
+
+    @Autowired
+    OrderStatsRollup orderStatsRollup;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        truncate();
+        WIREMOCK.resetAll();
+        String userJson = """
+                  {"id": %d, "name":"Olga", "surname":"Ivanova", "email":"olga@gmail.com"}
+                """.formatted(CREDENTIALS_ID);
+        WIREMOCK.stubFor(WireMock.get(urlEqualTo("/api/users/by-credentials-id/" + CREDENTIALS_ID))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(userJson)));
+        WIREMOCK.stubFor(WireMock.get(urlEqualTo("/api/users/" + CREDENTIALS_ID))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(userJson)));
+        item = itemRepository.save(new Item(null, "Monitor", new BigDecimal("100.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        truncate();
+        WIREMOCK.resetAll();
+    }
+
+    private void truncate() {
+        jdbcTemplate.execute("truncate table order_items, orders, order_events_outbox, order_daily_stats");
+        jdbcTemplate.execute("truncate table processed_payment_events");
+    }
+
+    private String body(int quantity) {
+        return """
+                  {"items": [{"itemId": %d, "quantity": %d}]}
+                """.formatted(item.getId(), quantity);
+    }
+
+    private long create(int quantity) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/orders")
+                        .header(USER_HEADER, CREDENTIALS_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(quantity)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return ((Number) JsonPath.read(result.getResponse().getContentAsString(), "$.id")).longValue();
+    }
+
+    private List<Map<String, Object>> stats() throws Exception {
+        LocalDate today = LocalDate.now();
+        MvcResult result = mockMvc.perform(get("/api/orders/stats")
+                        .param("from", today.toString())
+                        .param("to", today.plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andReturn();
+        return JsonPath.read(result.getResponse().getContentAsString(), "$");
+    }
+
+    @Test
+    void stats_FollowCreateUpdatePaymentAndDelete_AndMatchRebuild() throws Exception {
+        long paid = create(1);
+        long updated = create(2);
+        long deleted = create(3);
+
+        paymentEventsProcessor.process(List.of(new PaymentEvent("evt-stats-1", paid, "pay-1", PaymentStatus.SUCCESS)));
+
+        mockMvc.perform(put("/api/orders/{id}", updated)
+                        .header(USER_HEADER, CREDENTIALS_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                  {"status": "PROCESSING", "items": [{"itemId": %d, "quantity": 5}]}
+                                """.formatted(item.getId())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/orders/{id}", deleted).header(USER_HEADER, CREDENTIALS_ID))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/orders/stats")
+                        .param("from", LocalDate.now().toString())
+                        .param("to", LocalDate.now().plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value("PAID"))
+                .andExpect(jsonPath("$[0].orderCount").value(1))
+                .andExpect(jsonPath("$[0].totalAmount").value(100.0))
+                .andExpect(jsonPath("$[1].status").value("PROCESSING"))
+                .andExpect(jsonPath("$[1].orderCount").value(1))
+                .andExpect(jsonPath("$[1].totalAmount").value(500.0));
+
+        List<Map<String, Object>> incremental = stats();
+        assertThat(orderStatsEndpoint.rebuild()).containsEntry("rows", 2);
+        assertThat(stats()).isEqualTo(incremental);
+    }
+
+    @Test
+    void stats_FilterByStatus() throws Exception {
+        create(1);
+        long paid = create(2);
+        paymentEventsProcessor.process(List.of(new PaymentEvent("evt-stats-2", paid, "pay-2", PaymentStatus.SUCCESS)));
+
+        mockMvc.perform(get("/api/orders/stats")
+                        .param("from", LocalDate.now().toString())
+                        .param("to", LocalDate.now().plusDays(1).toString())
+                        .param("statuses", "PENDING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].status").value("PENDING"))
+                .andExpect(jsonPath("$[0].totalAmount").value(100.0));
+    }
+
+    @Test
+    void stats_InvalidRange_Returns400() throws Exception {
+        mockMvc.perform(get("/api/orders/stats")
+                        .param("from", "2025-02-01")
+                        .param("to", "2025-01-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/stats")
+                        .param("from", "2020-01-01")
+                        .param("to", "2025-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rollup_InnerRequiresNewTransaction_KeepsItsOwnDeltas() {
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        TransactionTemplate inner = new TransactionTemplate(transactionManager);
+        inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        LocalDateTime now = LocalDateTime.now();
+
+        outer.executeWithoutResult(status -> {
+            orderStatsRollup.added(now, OrderStatus.PENDING, 100);
+            inner.executeWithoutResult(innerStatus -> orderStatsRollup.added(now, OrderStatus.PAID, 200));
+            orderStatsRollup.added(now, OrderStatus.PENDING, 100);
+            status.setRollbackOnly();
+        });
+
+        assertThat(jdbcTemplate.queryForList(
+                "select status || ':' || order_count || ':' || total_amount from order_daily_stats", String.class))
+                .containsExactly("PAID:1:2.00");
+    }
+}
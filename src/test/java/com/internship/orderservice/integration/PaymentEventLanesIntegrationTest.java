@@ -0,0 +1,190 @@
+package com.internship.orderservice.integration;
+
+import com.internship.orderservice.kafka.PaymentEventsProcessor;
+import com.internship.orderservice.kafka.codec.EventSerializer;
+import com.internship.orderservice.kafka.codec.PaymentEventCodec;
+import com.internship.orderservice.kafka.dto.PaymentEvent;
+import com.internship.orderservice.kafka.dto.PaymentStatus;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Stress test for {@code app.kafka.payments-consumer.mode=parallel}: many orders share one partition,
+ * every order receives a numbered sequence of events, and each order must see its events in produce order
+ * while different orders are processed concurrently.
+ * <p>
+ * The context runs real Kafka listeners and the outbox relay against the shared database, so it is
+ * closed after the class instead of being cached for later tests.
+ */
+@DirtiesContext
+@EmbeddedKafka(partitions = 1, topics = PaymentEventLanesIntegrationTest.TOPIC)
+@TestPropertySource(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "app.kafka.enabled=true",
+        "app.kafka.payments-topic=" + PaymentEventLanesIntegrationTest.TOPIC,
+        "app.kafka.orders-topic=orders-lanes-it",
+        "app.kafka.consumer-group=" + PaymentEventLanesIntegrationTest.GROUP,
+        "app.kafka.payments-consumer.mode=parallel",
+        "app.kafka.payments-consumer.lanes=4",
+        "app.kafka.payments-consumer.redelivery-backoff=PT0.1S",
+        "app.kafka.payments-consumer.max-redelivery-backoff=PT0.5S"
+})
+public class PaymentEventLanesIntegrationTest extends BaseIntegrationTest {
+
+    static final String TOPIC = "payments-lanes-it";
+    static final String GROUP = "payments-lanes-it";
+
+    private static final int ORDERS = 40;
+    private static final int EVENTS_PER_ORDER = 50;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EmbeddedKafkaBroker broker;
+
+    @MockitoSpyBean
+    PaymentEventsProcessor paymentEventsProcessor;
+
+    private final Map<Long, List<Integer>> seenByOrder = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("truncate table order_items, orders");
+        jdbcTemplate.execute("truncate table processed_payment_events");
+        doAnswer(invocation -> {
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            try {
+                for (PaymentEvent event : invocation.<List<PaymentEvent>>getArgument(0)) {
+                    seenByOrder.computeIfAbsent(event.getOrderId(), id -> Collections.synchronizedList(new ArrayList<>()))
+                            .add(sequenceOf(event));
+                }
+                return invocation.callRealMethod();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }).when(paymentEventsProcessor).process(anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("alter table if exists processed_payment_events_offline rename to processed_payment_events");
+        jdbcTemplate.execute("truncate table order_items, orders");
+    }
+
+    private long committedOffset() throws Exception {
+        OffsetAndMetadata offset = KafkaTestUtils.getCurrentOffset(broker.getBrokersAsString(), GROUP, TOPIC, 0);
+        return offset == null ? 0 : offset.offset();
+    }
+
+    private KafkaTemplate<String, PaymentEvent> producer() {
+        Map<String, Object> producerProps = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.LINGER_MS_CONFIG, 5);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                producerProps, new StringSerializer(), new EventSerializer<>(new PaymentEventCodec())));
+    }
+
+    private static int sequenceOf(PaymentEvent event) {
+        return Integer.parseInt(event.getPaymentId().substring(event.getPaymentId().lastIndexOf('-') + 1));
+    }
+
+    @Test
+    void parallelLanes_PreserveOrderPerOrderId() throws Exception {
+        List<Long> orderIds = jdbcTemplate.queryForList("""
+                insert into orders (user_id, status, creation_date)
+                select 1, 'PENDING', now() from generate_series(1, ?)
+                returning id
+                """, Long.class, ORDERS);
+        long start = committedOffset();
+
+        KafkaTemplate<String, PaymentEvent> template = producer();
+
+        // interleave orders so every poll mixes many keys
+        for (int seq = 0; seq < EVENTS_PER_ORDER; seq++) {
+            for (Long orderId : orderIds) {
+                // retries keep failing until the last one, so every event is a legal transition
+                PaymentStatus status = seq == EVENTS_PER_ORDER - 1 ? PaymentStatus.SUCCESS : PaymentStatus.FAILED;
+                template.send(TOPIC, orderId.toString(),
+                        new PaymentEvent("evt-" + orderId + "-" + seq, orderId, "pay-" + orderId + "-" + seq, status));
+            }
+        }
+        template.flush();
+        template.destroy();
+
+        long total = (long) ORDERS * EVENTS_PER_ORDER;
+        await().atMost(Duration.ofSeconds(60)).untilAsserted(() ->
+                assertThat(committedOffset()).isEqualTo(start + total));
+
+        List<Integer> expected = IntStream.range(0, EVENTS_PER_ORDER).boxed().toList();
+        assertThat(seenByOrder).hasSize(ORDERS);
+        seenByOrder.forEach((orderId, sequence) -> assertThat(sequence).as("order %d", orderId).isEqualTo(expected));
+        assertThat(maxInFlight.get()).isGreaterThan(1);
+
+        String lastPaymentId = "pay-%d-" + (EVENTS_PER_ORDER - 1);
+        for (Long orderId : orderIds) {
+            assertThat(jdbcTemplate.queryForObject("select payment_id from orders where id = ?", String.class, orderId))
+                    .isEqualTo(lastPaymentId.formatted(orderId));
+        }
+    }
+
+    @Test
+    void databaseFailure_IsRetriedInTheLaneAndNotAcknowledged() throws Exception {
+        long orderId = jdbcTemplate.queryForObject(
+                "insert into orders (user_id, status, creation_date) values (1, 'PENDING', now()) returning id",
+                Long.class);
+        long start = committedOffset();
+
+        // every transaction that records an event id now fails, as if the table were unreachable
+        jdbcTemplate.execute("alter table processed_payment_events rename to processed_payment_events_offline");
+
+        KafkaTemplate<String, PaymentEvent> template = producer();
+        template.send(TOPIC, Long.toString(orderId),
+                new PaymentEvent("evt-offline", orderId, "pay-offline-0", PaymentStatus.SUCCESS));
+        template.flush();
+        template.destroy();
+
+        await().during(Duration.ofSeconds(3)).atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(committedOffset()).isEqualTo(start));
+        assertThat(jdbcTemplate.queryForObject("select status from orders where id = ?", String.class, orderId))
+                .isEqualTo("PENDING");
+
+        jdbcTemplate.execute("alter table processed_payment_events_offline rename to processed_payment_events");
+
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+                assertThat(committedOffset()).isEqualTo(start + 1));
+        assertThat(jdbcTemplate.queryForObject("select status || ':' || payment_id from orders where id = ?",
+                String.class, orderId)).isEqualTo("PAID:pay-offline-0");
+    }
+}
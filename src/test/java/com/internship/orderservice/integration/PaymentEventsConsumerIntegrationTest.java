@@ -0,0 +1,105 @@
+package com.internship.orderservice.integration;
+
+import com.internship.orderservice.kafka.codec.EventSerializer;
+import com.internship.orderservice.kafka.codec.PaymentEventCodec;
+import com.internship.orderservice.kafka.dto.PaymentEvent;
+import com.internship.orderservice.kafka.dto.PaymentStatus;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs the batch payment listener against an embedded broker to check what gets committed when the
+ * database is in the way. The context runs real Kafka listeners against the shared database, so it is
+ * closed after the class instead of being cached for later tests.
+ */
+@DirtiesContext
+@EmbeddedKafka(partitions = 1, topics = PaymentEventsConsumerIntegrationTest.TOPIC)
+@TestPropertySource(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "app.kafka.enabled=true",
+        "app.kafka.payments-topic=" + PaymentEventsConsumerIntegrationTest.TOPIC,
+        "app.kafka.orders-topic=orders-consumer-it",
+        "app.kafka.consumer-group=" + PaymentEventsConsumerIntegrationTest.GROUP,
+        "app.kafka.payments-consumer.mode=batch",
+        "app.kafka.payments-consumer.redelivery-backoff=PT0.1S",
+        "app.kafka.payments-consumer.max-redelivery-backoff=PT0.5S"
+})
+public class PaymentEventsConsumerIntegrationTest extends BaseIntegrationTest {
+
+    static final String TOPIC = "payments-consumer-it";
+    static final String GROUP = "payments-consumer-it";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EmbeddedKafkaBroker broker;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("truncate table order_items, orders");
+        jdbcTemplate.execute("truncate table processed_payment_events");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("alter table if exists processed_payment_events_offline rename to processed_payment_events");
+        jdbcTemplate.execute("truncate table order_items, orders");
+    }
+
+    private Long committedOffset() throws Exception {
+        OffsetAndMetadata offset = KafkaTestUtils.getCurrentOffset(broker.getBrokersAsString(), GROUP, TOPIC, 0);
+        return offset == null ? null : offset.offset();
+    }
+
+    @Test
+    void databaseFailure_LeavesOffsetUncommittedUntilThePollIsApplied() throws Exception {
+        long orderId = jdbcTemplate.queryForObject(
+                "insert into orders (user_id, status, creation_date) values (1, 'PENDING', now()) returning id",
+                Long.class);
+        Long before = committedOffset();
+        long start = before == null ? 0 : before;
+
+        // every transaction that records an event id now fails, as if the table were unreachable
+        jdbcTemplate.execute("alter table processed_payment_events rename to processed_payment_events_offline");
+
+        KafkaTemplate<String, PaymentEvent> template = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+                Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()),
+                new StringSerializer(), new EventSerializer<>(new PaymentEventCodec())));
+        template.send(TOPIC, Long.toString(orderId),
+                new PaymentEvent("evt-offline", orderId, "pay-1", PaymentStatus.SUCCESS));
+        template.flush();
+        template.destroy();
+
+        await().during(Duration.ofSeconds(3)).atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(committedOffset()).isEqualTo(before));
+        assertThat(jdbcTemplate.queryForObject("select status from orders where id = ?", String.class, orderId))
+                .isEqualTo("PENDING");
+
+        jdbcTemplate.execute("alter table processed_payment_events_offline rename to processed_payment_events");
+
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+                assertThat(committedOffset()).isEqualTo(start + 1));
+        assertThat(jdbcTemplate.queryForObject("select status || ':' || payment_id from orders where id = ?",
+                String.class, orderId)).isEqualTo("PAID:pay-1");
+    }
+}
@@ -0,0 +1,204 @@
+package com.internship.orderservice.integration;
+
+import com.internship.orderservice.cache.OrderResponseCache;
+import com.internship.orderservice.config.ProcessedEventsProperties;
+import com.internship.orderservice.kafka.PaymentEventsProcessor;
+import com.internship.orderservice.kafka.ProcessedPaymentEvents;
+import com.internship.orderservice.kafka.dto.PaymentEvent;
+import com.internship.orderservice.kafka.dto.PaymentStatus;
+import com.internship.orderservice.repository.OrderStatusTransitions;
+import com.internship.orderservice.retry.ConflictRetry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PaymentEventsProcessorIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PaymentEventsProcessor paymentEventsProcessor;
+
+    @Autowired
+    ProcessedPaymentEvents processedPaymentEvents;
+
+    @Autowired
+    OrderStatusTransitions orderStatusTransitions;
+
+    @Autowired
+    ConflictRetry conflictRetry;
+
+    @Autowired
+    OrderResponseCache orderResponseCache;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        truncate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        truncate();
+    }
+
+    private void truncate() {
+        jdbcTemplate.execute("truncate table order_items, orders");
+        jdbcTemplate.execute("truncate table processed_payment_events");
+    }
+
+    private long insertOrder(String status, String paymentId) {
+        return jdbcTemplate.queryForObject(
+                "insert into orders (user_id, status, creation_date, payment_id) values (1, ?, now(), ?) returning id",
+                Long.class, status, paymentId);
+    }
+
+    private String statusOf(long orderId) {
+        return jdbcTemplate.queryForObject("select status || ':' || coalesce(payment_id, '-') from orders where id = ?",
+                String.class, orderId);
+    }
+
+    private static PaymentEvent event(long orderId, String paymentId, PaymentStatus status) {
+        return new PaymentEvent(UUID.randomUUID().toString(), orderId, paymentId, status);
+    }
+
+    @Test
+    void process_EventsApplyInOffsetOrderAndDuplicatesAreSkipped() {
+        long first = insertOrder("PENDING", null);
+        long second = insertOrder("PENDING", null);
+        long alreadyPaid = insertOrder("PAID", "pay-0");
+
+        int updated = paymentEventsProcessor.process(List.of(
+                event(first, "pay-1", PaymentStatus.FAILED),
+                event(second, "pay-2", PaymentStatus.SUCCESS),
+                event(first, "pay-3", PaymentStatus.SUCCESS),
+                event(alreadyPaid, "pay-0", PaymentStatus.SUCCESS),
+                event(999_999L, "pay-4", PaymentStatus.SUCCESS)));
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(statusOf(first)).isEqualTo("PAID:pay-3");
+        assertThat(statusOf(second)).isEqualTo("PAID:pay-2");
+        assertThat(statusOf(alreadyPaid)).isEqualTo("PAID:pay-0");
+    }
+
+    @Test
+    void process_FailureAfterSuccessInOnePoll_IsRejectedAsWhenPolledSeparately() {
+        long batched = insertOrder("PENDING", null);
+        long separate = insertOrder("PENDING", null);
+
+        paymentEventsProcessor.process(List.of(
+                event(batched, "pay-1", PaymentStatus.SUCCESS),
+                event(batched, "pay-2", PaymentStatus.FAILED)));
+        paymentEventsProcessor.process(List.of(event(separate, "pay-1", PaymentStatus.SUCCESS)));
+        paymentEventsProcessor.process(List.of(event(separate, "pay-2", PaymentStatus.FAILED)));
+
+        assertThat(statusOf(batched)).isEqualTo("PAID:pay-1");
+        assertThat(statusOf(separate)).isEqualTo("PAID:pay-1");
+    }
+
+    @Test
+    void process_PoisonEventDoesNotBlockTheBatch() {
+        long good = insertOrder("PENDING", null);
+        long poisoned = insertOrder("PENDING", null);
+        String tooLongPaymentId = "p".repeat(100);
+
+        int updated = paymentEventsProcessor.process(List.of(
+                event(good, "pay-1", PaymentStatus.SUCCESS),
+                event(poisoned, tooLongPaymentId, PaymentStatus.SUCCESS),
+                new PaymentEvent("evt-x", null, "pay-x", PaymentStatus.SUCCESS)));
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(statusOf(good)).isEqualTo("PAID:pay-1");
+        assertThat(statusOf(poisoned)).isEqualTo("PENDING:-");
+    }
+
+    @Test
+    void process_RedeliveredEventIsDroppedAfterLaterChange() {
+        long orderId = insertOrder("PENDING", null);
+        PaymentEvent first = event(orderId, "pay-1", PaymentStatus.FAILED);
+        PaymentEvent retry = event(orderId, "pay-2", PaymentStatus.FAILED);
+
+        paymentEventsProcessor.process(List.of(first));
+        paymentEventsProcessor.process(List.of(retry));
+        assertThat(paymentEventsProcessor.process(List.of(first))).isZero();
+        assertThat(statusOf(orderId)).isEqualTo("PAYMENT_FAILED:pay-2");
+
+        // a second instance has an empty recent-id cache and relies on the table
+        PaymentEventsProcessor otherInstance = new PaymentEventsProcessor(
+                new ProcessedPaymentEvents(jdbcTemplate, new ProcessedEventsProperties(), new SimpleMeterRegistry()),
+                orderStatusTransitions, conflictRetry, orderResponseCache, transactionManager);
+        assertThat(otherInstance.process(List.of(retry, first))).isZero();
+        assertThat(statusOf(orderId)).isEqualTo("PAYMENT_FAILED:pay-2");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from processed_payment_events", Long.class))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void process_IllegalTransitionLeavesOrderUnchanged() {
+        long shipped = insertOrder("SHIPPED", "pay-0");
+        long paid = insertOrder("PAID", "pay-1");
+        long pending = insertOrder("PENDING", null);
+
+        int updated = paymentEventsProcessor.process(List.of(
+                event(shipped, "pay-2", PaymentStatus.FAILED),
+                event(paid, "pay-3", PaymentStatus.FAILED),
+                event(pending, "pay-4", PaymentStatus.SUCCESS)));
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(statusOf(shipped)).isEqualTo("SHIPPED:pay-0");
+        assertThat(statusOf(paid)).isEqualTo("PAID:pay-1");
+        assertThat(statusOf(pending)).isEqualTo("PAID:pay-4");
+    }
+
+    @Test
+    void maintainPartitions_CreatesUpcomingDaysAndDropsExpiredOnes() {
+        LocalDate expired = LocalDate.now().minusDays(30);
+        String expiredPartition = "processed_payment_events_p" + expired.format(DateTimeFormatter.BASIC_ISO_DATE);
+        jdbcTemplate.execute("create table if not exists " + expiredPartition
+                + " partition of processed_payment_events for values from ('" + expired + "') to ('"
+                + expired.plusDays(1) + "')");
+
+        processedPaymentEvents.maintainPartitions();
+
+        String upcomingPartition = "processed_payment_events_p"
+                + LocalDate.now().plusDays(3).format(DateTimeFormatter.BASIC_ISO_DATE);
+        assertThat(jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, upcomingPartition))
+                .isTrue();
+        assertThat(jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, expiredPartition))
+                .isFalse();
+    }
+
+    @Test
+    void process_WithoutTodaysPartition_RecordsInDefaultUntilMaintenanceMovesIt() {
+        String todaysPartition = "processed_payment_events_p"
+                + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+        jdbcTemplate.execute("drop table if exists " + todaysPartition);
+        long orderId = insertOrder("PENDING", null);
+        PaymentEvent payment = event(orderId, "pay-1", PaymentStatus.SUCCESS);
+
+        assertThat(paymentEventsProcessor.process(List.of(payment))).isEqualTo(1);
+        String partitionSql = "select tableoid::regclass::text from processed_payment_events where event_id = ?";
+        assertThat(jdbcTemplate.queryForObject(partitionSql, String.class, payment.getEventId()))
+                .isEqualTo("processed_payment_events_default");
+
+        processedPaymentEvents.maintainPartitions();
+
+        assertThat(jdbcTemplate.queryForObject(partitionSql, String.class, payment.getEventId()))
+                .isEqualTo(todaysPartition);
+        assertThat(statusOf(orderId)).isEqualTo("PAID:pay-1");
+    }
+}
@@ -0,0 +1,126 @@
+package com.internship.orderservice.integration;
+
+import com.internship.orderservice.dto.response.OrderResponse;
+import com.internship.orderservice.entity.Order;
+import com.internship.orderservice.mapper.OrderMapper;
+import com.internship.orderservice.mapper.OrderViewAssembler;
+import com.internship.orderservice.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares bytes allocated per {@link OrderResponse} by the entity read path
+ * (a fetch-join entity query + {@link OrderMapper}) and the projection read path
+ * ({@code findViewRowsByIdIn} + {@link OrderViewAssembler}).
+ */
+public class ReadPathAllocationIntegrationTest extends BaseIntegrationTest {
+
+    private static final int ORDERS = 100;
+    private static final int WARMUP = 30;
+    private static final int ITERATIONS = 100;
+    private static final String ENTITY_QUERY = """
+            select distinct o from Order o
+            left join fetch o.orderItems oi
+            left join fetch oi.item
+            where o.id in :ids
+            """;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    OrderMapper orderMapper;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    OrderViewAssembler orderViewAssembler;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private List<Long> ids;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        truncate();
+        Long itemId = jdbcTemplate.queryForObject(
+                "insert into items (name, price) values ('Bench Item', 3.00) returning id", Long.class);
+        ids = jdbcTemplate.queryForList("""
+                insert into orders (user_id, status, creation_date)
+                select 1, 'PENDING', now() from generate_series(1, ?)
+                returning id
+                """, Long.class, ORDERS);
+        jdbcTemplate.update("""
+                insert into order_items (order_id, order_creation_date, item_id, quantity, unit_price)
+                select o.id, o.creation_date, i.id, q, i.price from orders o cross join generate_series(1, 3) q
+                join items i on i.id = ?
+                """, itemId);
+
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        truncate();
+    }
+
+    private void truncate() {
+        jdbcTemplate.execute("truncate table order_items, orders");
+        jdbcTemplate.update("delete from items");
+    }
+
+    @Test
+    void projectionPath_AllocatesLessPerResponseThanEntityPath() {
+        Supplier<Collection<OrderResponse>> entityPath = () -> entityManager.createQuery(ENTITY_QUERY, Order.class)
+                .setParameter("ids", ids)
+                .getResultList().stream()
+                .map(order -> orderMapper.toDto(order, null))
+                .toList();
+        Supplier<Collection<OrderResponse>> projectionPath = () -> orderViewAssembler
+                .assemble(orderRepository.findViewRowsByIdIn(ids))
+                .values();
+
+        long entityBytes = bytesPerResponse(entityPath);
+        long projectionBytes = bytesPerResponse(projectionPath);
+
+        assertThat(projectionBytes)
+                .as("bytes allocated per response by the projection path, against the entity path")
+                .isLessThan(entityBytes);
+    }
+
+    private long bytesPerResponse(Supplier<Collection<OrderResponse>> path) {
+        for (int i = 0; i < WARMUP; i++) {
+            Collection<OrderResponse> responses = readOnly.execute(status -> path.get());
+            assertThat(responses).hasSize(ORDERS);
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            readOnly.execute(status -> path.get());
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        return allocated / ((long) ITERATIONS * ORDERS);
+    }
+}
@@ -0,0 +1,80 @@
+package com.internship.orderservice.unit;
+
+import com.internship.orderservice.catalog.CachedItemCatalog;
+import com.internship.orderservice.config.ItemCatalogProperties;
+import com.internship.orderservice.entity.Item;
+import com.internship.orderservice.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachedItemCatalogTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachedItemCatalog catalog;
+
+    private final LocalDateTime loadedAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(itemRepository.findLatestUpdate()).thenReturn(loadedAt);
+        when(itemRepository.findAll()).thenReturn(List.of(
+                new Item(1L, "USB-C Cable 1m", new BigDecimal("9.99")),
+                new Item(2L, "Wireless Mouse", new BigDecimal("24.90"))
+        ));
+
+        catalog = new CachedItemCatalog(itemRepository, new ItemCatalogProperties(), meterRegistry);
+        catalog.warmUp();
+        clearInvocations(itemRepository);
+    }
+
+    @Test
+    void findAllById_servesKnownIdsAndRejectsUnknownWithoutDbHit() {
+        Map<Long, Item> found = catalog.findAllById(List.of(1L, 2L, 999L));
+
+        assertThat(found).containsOnlyKeys(1L, 2L);
+        assertThat(found.get(2L).getName()).isEqualTo("Wireless Mouse");
+        verifyNoInteractions(itemRepository);
+
+        assertThat(meterRegistry.get("item.catalog.lookups").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("item.catalog.lookups").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("item.catalog.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void refresh_appliesChangedAndNewItems() {
+        when(itemRepository.findLatestUpdate()).thenReturn(loadedAt.plusMinutes(1));
+        when(itemRepository.findUpdatedSince(any())).thenReturn(List.of(
+                new Item(2L, "Wireless Mouse", new BigDecimal("19.90")),
+                new Item(3L, "SSD 512GB", new BigDecimal("89.90"))
+        ));
+
+        catalog.refresh();
+
+        verify(itemRepository).findUpdatedSince(loadedAt.minusSeconds(30));
+        Map<Long, Item> found = catalog.findAllById(List.of(1L, 2L, 3L));
+        assertThat(found).containsOnlyKeys(1L, 2L, 3L);
+        assertThat(found.get(2L).getPrice()).isEqualByComparingTo("19.90");
+        assertThat(meterRegistry.get("item.catalog.refreshes").tag("type", "delta").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,136 @@
+package com.internship.orderservice.unit;
+
+import com.internship.orderservice.client.CachingUserClient;
+import com.internship.orderservice.client.UserClient;
+import com.internship.orderservice.config.UserCacheProperties;
+import com.internship.orderservice.dto.external.UserResponse;
+import com.internship.orderservice.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserClientTest {
+
+    @Mock
+    private UserClient delegate;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private CachingUserClient client;
+
+    @BeforeEach
+    void setUp() {
+        UserCacheProperties properties = new UserCacheProperties();
+        properties.setTtl(Duration.ofMinutes(5));
+        properties.setNegativeTtl(Duration.ofSeconds(30));
+        meterRegistry = new SimpleMeterRegistry();
+        client = new CachingUserClient(delegate, properties, meterRegistry, nanos::get);
+    }
+
+    @Test
+    void getByUserId_concurrentCallers_shareOneOutboundCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getByUserId(4L)).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return UserResponse.builder().id(4L).name("Rita").build();
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<UserResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(pool.submit(() -> client.getByUserId(4L)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<UserResponse> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS).getName()).isEqualTo("Rita");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(delegate, times(1)).getByUserId(4L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "user-client.by-id").tag("result", "hit")
+                .functionCounter().count()).isGreaterThan(0);
+    }
+
+    @Test
+    void getByUserId_notFound_isCachedForNegativeTtl() {
+        when(delegate.getByUserId(7L)).thenThrow(new NotFoundException("User not found"));
+
+        assertThatThrownBy(() -> client.getByUserId(7L)).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> client.getByUserId(7L)).isInstanceOf(NotFoundException.class);
+        verify(delegate, times(1)).getByUserId(7L);
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertThatThrownBy(() -> client.getByUserId(7L)).isInstanceOf(NotFoundException.class);
+        verify(delegate, times(2)).getByUserId(7L);
+    }
+
+    @Test
+    void getByUserId_entryExpiresAfterTtl() {
+        when(delegate.getByUserId(4L)).thenReturn(UserResponse.builder().id(4L).build());
+
+        client.getByUserId(4L);
+        nanos.addAndGet(Duration.ofMinutes(4).toNanos());
+        client.getByUserId(4L);
+        verify(delegate, times(1)).getByUserId(4L);
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        client.getByUserId(4L);
+        verify(delegate, times(2)).getByUserId(4L);
+    }
+
+    @Test
+    void getByCredentialsId_primesUserIdCache() {
+        when(delegate.getByCredentialsId(111L)).thenReturn(UserResponse.builder().id(4L).build());
+
+        assertThat(client.getByCredentialsId(111L).getId()).isEqualTo(4L);
+        assertThat(client.getByUserId(4L).getId()).isEqualTo(4L);
+
+        verify(delegate, times(0)).getByUserId(4L);
+    }
+
+    @Test
+    void getByUserId_serverError_isNotCached() {
+        when(delegate.getByUserId(5L))
+                .thenThrow(new RuntimeException("User Service error: 503"))
+                .thenReturn(UserResponse.builder().id(5L).build());
+
+        assertThatThrownBy(() -> client.getByUserId(5L)).hasMessageContaining("503");
+        assertThat(client.getByUserId(5L).getId()).isEqualTo(5L);
+    }
+
+    @Test
+    void getByUserId_errorInLoader_doesNotLeaveCallersWaiting() {
+        when(delegate.getByUserId(6L))
+                .thenThrow(new StackOverflowError())
+                .thenReturn(UserResponse.builder().id(6L).build());
+
+        assertThatThrownBy(() -> client.getByUserId(6L)).isInstanceOf(StackOverflowError.class);
+        assertThat(client.getByUserId(6L).getId()).isEqualTo(6L);
+    }
+}
@@ -0,0 +1,96 @@
+package com.internship.orderservice.unit;
+
+import com.internship.orderservice.kafka.codec.EventContentTypes;
+import com.internship.orderservice.kafka.codec.EventDeserializer;
+import com.internship.orderservice.kafka.codec.EventSerializer;
+import com.internship.orderservice.kafka.codec.OrderEventCodec;
+import com.internship.orderservice.kafka.codec.PaymentEventCodec;
+import com.internship.orderservice.kafka.dto.OrderEvent;
+import com.internship.orderservice.kafka.dto.PaymentEvent;
+import com.internship.orderservice.kafka.dto.PaymentStatus;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventCodecTest {
+
+    private final OrderEventCodec orderCodec = new OrderEventCodec();
+    private final PaymentEventCodec paymentCodec = new PaymentEventCodec();
+
+    @Test
+    void orderEvent_RoundTripsAllFields() {
+        OrderEvent event = new OrderEvent(UUID.randomUUID().toString(), 1_234_567L, -5L, new BigDecimal("-1299.905"));
+
+        byte[] encoded = orderCodec.encode(event);
+        OrderEvent decoded = orderCodec.decode(encoded);
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(event);
+        assertThat(decoded.getPaymentAmount().scale()).isEqualTo(3);
+        assertThat(encoded.length).isLessThan(32);
+    }
+
+    @Test
+    void orderEvent_KeepsNullsAndNonUuidIds() {
+        OrderEvent event = new OrderEvent("evt-1", null, Long.MAX_VALUE, null);
+
+        assertThat(orderCodec.decode(orderCodec.encode(event))).usingRecursiveComparison().isEqualTo(event);
+        assertThat(orderCodec.decode(orderCodec.encode(new OrderEvent()))).usingRecursiveComparison()
+                .isEqualTo(new OrderEvent());
+    }
+
+    @Test
+    void paymentEvent_RoundTrips() {
+        PaymentEvent event = new PaymentEvent(UUID.randomUUID().toString().toUpperCase(), 7L,
+                UUID.randomUUID().toString(), PaymentStatus.FAILED);
+
+        assertThat(paymentCodec.decode(paymentCodec.encode(event))).usingRecursiveComparison().isEqualTo(event);
+    }
+
+    @Test
+    void decode_RejectsUnknownVersionAndTruncatedInput() {
+        byte[] encoded = paymentCodec.encode(new PaymentEvent("e", 1L, "p", PaymentStatus.SUCCESS));
+
+        byte[] futureVersion = encoded.clone();
+        futureVersion[0] = 2;
+        assertThatThrownBy(() -> paymentCodec.decode(futureVersion))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("version 2");
+        assertThatThrownBy(() -> paymentCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void deserializer_AcceptsBinaryAndJsonProducers() {
+        PaymentEvent event = new PaymentEvent("evt-9", 9L, "pay-9", PaymentStatus.SUCCESS);
+        EventDeserializer<PaymentEvent> deserializer = new EventDeserializer<>(paymentCodec,
+                new JsonDeserializer<>(PaymentEvent.class, false));
+
+        RecordHeaders binaryHeaders = new RecordHeaders();
+        byte[] binary = new EventSerializer<>(paymentCodec).serialize("payments", binaryHeaders, event);
+        assertThat(new String(binaryHeaders.lastHeader(EventContentTypes.HEADER).value(), StandardCharsets.UTF_8))
+                .isEqualTo(EventContentTypes.BINARY_V1);
+
+        RecordHeaders jsonHeaders = new RecordHeaders();
+        byte[] json;
+        try (JsonSerializer<PaymentEvent> jsonSerializer = new JsonSerializer<>()) {
+            json = jsonSerializer.serialize("payments", jsonHeaders, event);
+        }
+
+        assertThat(deserializer.deserialize("payments", binaryHeaders, binary))
+                .usingRecursiveComparison().isEqualTo(event);
+        assertThat(deserializer.deserialize("payments", jsonHeaders, json))
+                .usingRecursiveComparison().isEqualTo(event);
+        assertThat(deserializer.deserialize("payments", binary))
+                .usingRecursiveComparison().isEqualTo(event);
+    }
+}
@@ -0,0 +1,118 @@
+package com.internship.orderservice.unit;
+
+import com.internship.orderservice.cache.OrderResponseCache;
+import com.internship.orderservice.config.OrderCacheProperties;
+import com.internship.orderservice.dto.response.OrderItemResponse;
+import com.internship.orderservice.dto.response.OrderResponse;
+import com.internship.orderservice.kafka.CacheInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class OrderResponseCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CacheInvalidationBus invalidationBus = mock(CacheInvalidationBus.class);
+    private final OrderResponseCache cache =
+            new OrderResponseCache(new OrderCacheProperties(), provider(invalidationBus), meterRegistry);
+
+    private static ObjectProvider<CacheInvalidationBus> provider(CacheInvalidationBus bus) {
+        StaticListableBeanFactory beanFactory = bus == null
+                ? new StaticListableBeanFactory()
+                : new StaticListableBeanFactory(Map.of("cacheInvalidationBus", bus));
+        return beanFactory.getBeanProvider(CacheInvalidationBus.class);
+    }
+
+    private static OrderResponse response(long id, long version) {
+        return OrderResponse.builder()
+                .id(id)
+                .status("PENDING")
+                .version(version)
+                .items(List.of(new OrderItemResponse(1L, "Pen", 1, new BigDecimal("1.50"))))
+                .build();
+    }
+
+    @Test
+    void get_ServesOnlyTheVersionTheReaderSaw() {
+        cache.put(response(1L, 3L));
+
+        assertThat(cache.get(1L, 3L)).isNotNull();
+        // a write committed after the fill: the reader sees version 4 and must miss
+        assertThat(cache.get(1L, 4L)).isNull();
+        assertThat(cache.get(2L, 0L)).isNull();
+
+        assertThat(lookups("hit")).isEqualTo(1);
+        assertThat(lookups("stale")).isEqualTo(1);
+        assertThat(lookups("miss")).isEqualTo(1);
+        // the outdated entry is dropped on sight
+        assertThat(cache.get(1L, 3L)).isNull();
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("order.response-cache.lookups").tag("result", result).counter().count();
+    }
+
+    @Test
+    void put_DoesNotReplaceNewerVersion() {
+        cache.put(response(1L, 5L));
+        cache.put(response(1L, 4L));
+
+        assertThat(cache.get(1L, 5L)).isNotNull();
+        assertThat(cache.get(1L, 4L)).isNull();
+    }
+
+    @Test
+    void putAfterCommit_WarmsOnlyWhenEnabled() {
+        cache.putAfterCommit(response(1L, 0L));
+        assertThat(cache.get(1L, 0L)).isNotNull();
+
+        OrderCacheProperties noWarmUp = new OrderCacheProperties();
+        noWarmUp.setWarmOnCreate(false);
+        OrderResponseCache cold = new OrderResponseCache(noWarmUp, provider(null), new SimpleMeterRegistry());
+        cold.putAfterCommit(response(1L, 0L));
+        assertThat(cold.get(1L, 0L)).isNull();
+    }
+
+    @Test
+    void invalidateAfterCommit_WaitsForCommitThenBroadcasts() {
+        cache.put(response(1L, 0L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidateAfterCommit(List.of(1L));
+            assertThat(cache.get(1L, 0L)).isNotNull();
+            verifyNoInteractions(invalidationBus);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cache.get(1L, 0L)).isNull();
+        verify(invalidationBus).publish(OrderResponseCache.NAME, List.of(1L));
+    }
+
+    @Test
+    void evictLocally_DoesNotBroadcast() {
+        cache.put(response(1L, 0L));
+        cache.put(response(2L, 0L));
+
+        cache.evictLocally(List.of("1", "not-an-id"));
+
+        assertThat(cache.get(1L, 0L)).isNull();
+        assertThat(cache.get(2L, 0L)).isNotNull();
+        verifyNoInteractions(invalidationBus);
+    }
+}
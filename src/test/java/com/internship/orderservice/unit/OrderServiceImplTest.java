@@ -1,37 +1,62 @@
 package com.internship.orderservice.unit;
 
+import com.internship.orderservice.cache.OrderResponseCache;
+import com.internship.orderservice.catalog.ItemCatalog;
+import com.internship.orderservice.client.UserBatchLoader;
 import com.internship.orderservice.client.UserClient;
+import com.internship.orderservice.config.ConflictRetryProperties;
 import com.internship.orderservice.dto.external.UserResponse;
 import com.internship.orderservice.dto.request.OrderItemRequest;
 import com.internship.orderservice.dto.request.OrderRequest;
+import com.internship.orderservice.dto.response.OrderItemResponse;
 import com.internship.orderservice.dto.response.OrderResponse;
 import com.internship.orderservice.entity.Item;
 import com.internship.orderservice.entity.Order;
 import com.internship.orderservice.entity.OrderItem;
 import com.internship.orderservice.entity.OrderStatus;
+import com.internship.orderservice.exception.IllegalStatusTransitionException;
 import com.internship.orderservice.exception.NotFoundException;
-import com.internship.orderservice.kafka.OrderEventsProducer;
+import com.internship.orderservice.kafka.OrderEventsOutbox;
+import com.internship.orderservice.kafka.dto.OrderEvent;
 import com.internship.orderservice.mapper.OrderMapper;
-import com.internship.orderservice.repository.ItemRepository;
+import com.internship.orderservice.mapper.OrderViewAssembler;
+import com.internship.orderservice.mapper.UserInfoMapperImpl;
+import com.internship.orderservice.paging.CursorPage;
+import com.internship.orderservice.paging.OrderCursor;
+import com.internship.orderservice.repository.OrderArchive;
 import com.internship.orderservice.repository.OrderRepository;
+import com.internship.orderservice.repository.OrderStatsRollup;
+import com.internship.orderservice.repository.OrderViewRow;
+import com.internship.orderservice.retry.ConflictRetry;
 import com.internship.orderservice.service.impl.OrderServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -43,16 +68,33 @@ class OrderServiceImplTest {
     private OrderRepository orderRepository;
     @Mock
     private OrderMapper orderMapper;
+    @Spy
+    private OrderViewAssembler orderViewAssembler = new OrderViewAssembler(new UserInfoMapperImpl());
     @Mock
-    private ItemRepository itemRepository;
+    private ItemCatalog itemCatalog;
     @Mock
     private UserClient userClient;
     @Mock
-    private OrderEventsProducer orderEventsProducer;
+    private UserBatchLoader userBatchLoader;
+    @Mock
+    private OrderEventsOutbox orderEventsOutbox;
+    @Spy
+    private ConflictRetry conflictRetry = new ConflictRetry(new ConflictRetryProperties(), new SimpleMeterRegistry());
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private OrderResponseCache orderResponseCache;
+    @Mock
+    private OrderStatsRollup orderStatsRollup;
+    @Mock
+    private OrderArchive orderArchive;
 
     @InjectMocks
     private OrderServiceImpl service;
 
+    @Captor
+    private ArgumentCaptor<Collection<Long>> idsCaptor;
+
     private Item item1;
     private Item item2;
 
@@ -87,8 +129,7 @@ class OrderServiceImplTest {
         when(userClient.getByCredentialsId(credentialsId)).thenReturn(resolvedUser);
         when(userClient.getByUserId(actualUserId)).thenReturn(resolvedUser);
         when(orderMapper.toEntity(req)).thenReturn(mapped);
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
-        when(itemRepository.findById(2L)).thenReturn(Optional.of(item2));
+        when(itemCatalog.findAllById(any())).thenReturn(Map.of(1L, item1, 2L, item2));
         when(orderRepository.save(any(Order.class))).thenAnswer(inv -> {
             Order o = inv.getArgument(0);
             o.setId(10L);
@@ -96,7 +137,7 @@ class OrderServiceImplTest {
         });
         when(orderMapper.toDto(any(Order.class), eq(resolvedUser))).thenReturn(new OrderResponse());
 
-        doNothing().when(orderEventsProducer).send(any());
+        doNothing().when(orderEventsOutbox).append(any(OrderEvent.class));
 
         OrderResponse resp = service.createOrder(req);
 
@@ -110,12 +151,19 @@ class OrderServiceImplTest {
         assertThat(saved.getOrderItems()).hasSize(2);
         assertThat(saved.getOrderItems().stream().map(oi -> oi.getItem().getId()).toList())
                 .containsExactlyInAnyOrder(1L, 2L);
+        assertThat(saved.getOrderItems().stream().map(OrderItem::getUnitPrice).toList())
+                .containsExactlyInAnyOrder(999L, 2490L);
+        assertThat(saved.getTotalAmount()).isEqualTo(2 * 999L + 2490L);
 
         verify(orderMapper).toDto(saved, resolvedUser);
         verify(userClient).getByCredentialsId(credentialsId);
         verify(userClient).getByUserId(actualUserId);
 
-        verify(orderEventsProducer).send(any());
+        verify(orderStatsRollup).added(saved.getCreationDate(), OrderStatus.PENDING, 2 * 999L + 2490L);
+
+        ArgumentCaptor<OrderEvent> eventCaptor = ArgumentCaptor.forClass(OrderEvent.class);
+        verify(orderEventsOutbox).append(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getPaymentAmount()).isEqualByComparingTo("44.88");
     }
 
     @Test
@@ -154,7 +202,7 @@ class OrderServiceImplTest {
         when(userClient.getByCredentialsId(credentialsId)).thenReturn(resolvedUser);
         when(userClient.getByUserId(actualUserId)).thenReturn(resolvedUser);
         when(orderMapper.toEntity(req)).thenReturn(new Order());
-        when(itemRepository.findById(999L)).thenReturn(Optional.empty());
+        when(itemCatalog.findAllById(any())).thenReturn(Map.of());
 
         assertThatThrownBy(() -> service.createOrder(req))
                 .isInstanceOf(NotFoundException.class)
@@ -163,6 +211,69 @@ class OrderServiceImplTest {
         verify(orderRepository, never()).save(any());
     }
 
+    @Test
+    void createOrder_duplicateItemIds_mergedAndResolvedWithSingleQuery() {
+        Long credentialsId = 111L;
+        Long actualUserId = 4L;
+
+        OrderRequest req = OrderRequest.builder()
+                .userId(credentialsId)
+                .items(List.of(
+                        OrderItemRequest.builder().itemId(1L).quantity(2).build(),
+                        OrderItemRequest.builder().itemId(2L).quantity(1).build(),
+                        OrderItemRequest.builder().itemId(1L).quantity(3).build()
+                ))
+                .build();
+
+        UserResponse resolvedUser = UserResponse.builder().id(actualUserId).build();
+
+        when(userClient.getByCredentialsId(credentialsId)).thenReturn(resolvedUser);
+        when(userClient.getByUserId(actualUserId)).thenReturn(resolvedUser);
+        when(orderMapper.toEntity(req)).thenReturn(new Order());
+        when(itemCatalog.findAllById(any())).thenReturn(Map.of(1L, item1, 2L, item2));
+        when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(orderMapper.toDto(any(Order.class), eq(resolvedUser))).thenReturn(new OrderResponse());
+
+        service.createOrder(req);
+
+        verify(itemCatalog).findAllById(idsCaptor.capture());
+        assertThat(idsCaptor.getValue()).containsExactly(1L, 2L);
+
+        ArgumentCaptor<Order> savedCaptor = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).save(savedCaptor.capture());
+        assertThat(savedCaptor.getValue().getOrderItems())
+                .extracting(oi -> oi.getItem().getId(), OrderItem::getQuantity)
+                .containsExactly(tuple(1L, 5), tuple(2L, 1));
+    }
+
+    @Test
+    void createOrder_severalItemsMissing_reportsAllIds() {
+        Long credentialsId = 111L;
+        Long actualUserId = 4L;
+
+        OrderRequest req = OrderRequest.builder()
+                .userId(credentialsId)
+                .items(List.of(
+                        OrderItemRequest.builder().itemId(1L).quantity(1).build(),
+                        OrderItemRequest.builder().itemId(998L).quantity(1).build(),
+                        OrderItemRequest.builder().itemId(999L).quantity(1).build()
+                ))
+                .build();
+
+        UserResponse resolvedUser = UserResponse.builder().id(actualUserId).build();
+
+        when(userClient.getByCredentialsId(credentialsId)).thenReturn(resolvedUser);
+        when(userClient.getByUserId(actualUserId)).thenReturn(resolvedUser);
+        when(orderMapper.toEntity(req)).thenReturn(new Order());
+        when(itemCatalog.findAllById(any())).thenReturn(Map.of(1L, item1));
+
+        assertThatThrownBy(() -> service.createOrder(req))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("Item not found with id: 998, 999");
+
+        verify(orderRepository, never()).save(any());
+    }
+
     @Test
     void createOrder_ignoresClientStatus_setsPending() {
         Long credentialsId = 111L;
@@ -181,7 +292,7 @@ class OrderServiceImplTest {
         when(userClient.getByUserId(actualUserId)).thenReturn(resolvedUser);
         when(orderMapper.toEntity(req)).thenReturn(new Order());
 
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
+        when(itemCatalog.findAllById(any())).thenReturn(Map.of(1L, item1));
 
         when(orderRepository.save(any(Order.class))).thenAnswer(inv -> {
             Order o = inv.getArgument(0);
@@ -190,7 +301,7 @@ class OrderServiceImplTest {
         });
         when(orderMapper.toDto(any(Order.class), eq(resolvedUser))).thenReturn(new OrderResponse());
 
-        doNothing().when(orderEventsProducer).send(any());
+        doNothing().when(orderEventsOutbox).append(any(OrderEvent.class));
 
         OrderResponse resp = service.createOrder(req);
         assertThat(resp).isNotNull();
@@ -201,26 +312,35 @@ class OrderServiceImplTest {
     }
 
 
-    @Test
-    void getOrderById_userWasRemoved_mapperGetsNullUser() {
-        Order o = new Order();
-        o.setId(5L);
-        o.setUserId(4L);
-        o.setStatus(OrderStatus.PENDING);
+    private static OrderViewRow row(Long orderId, Long userId, OrderStatus status, Long itemId, Integer quantity) {
+        return new OrderViewRow(orderId, userId, status, LocalDateTime.of(2025, 3, 1, 10, 0), null, 0L, 0L,
+                itemId, itemId == null ? null : "Item " + itemId, quantity, itemId == null ? null : 100L);
+    }
 
-        when(orderRepository.findById(5L)).thenReturn(Optional.of(o));
+    private static String[] names(List<OrderStatus> statuses) {
+        return statuses.stream().map(Enum::name).toArray(String[]::new);
+    }
+
+    @Test
+    void getOrderById_userWasRemoved_userIsNull() {
+        when(orderRepository.findViewRowsByIdIn(List.of(5L))).thenReturn(List.of(
+                row(5L, 4L, OrderStatus.PENDING, 1L, 2),
+                row(5L, 4L, OrderStatus.PENDING, 2L, 1)));
         when(userClient.getByUserId(4L)).thenThrow(new NotFoundException("User not found"));
-        when(orderMapper.toDto(eq(o), eq(null))).thenReturn(new OrderResponse());
 
         OrderResponse resp = service.getOrderById(5L);
 
-        assertThat(resp).isNotNull();
-        verify(orderMapper).toDto(o, null);
+        assertThat(resp.getId()).isEqualTo(5L);
+        assertThat(resp.getStatus()).isEqualTo("PENDING");
+        assertThat(resp.getItems()).extracting(OrderItemResponse::getItemId, OrderItemResponse::getQuantity)
+                .containsExactly(tuple(1L, 2), tuple(2L, 1));
+        assertThat(resp.getUser()).isNull();
+        verifyNoInteractions(orderMapper);
     }
 
     @Test
     void getOrderById_orderMissing_throwsNotFound() {
-        when(orderRepository.findById(123L)).thenReturn(Optional.empty());
+        when(orderRepository.findViewRowsByIdIn(List.of(123L))).thenReturn(List.of());
         assertThatThrownBy(() -> service.getOrderById(123L))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Order not found with id: 123");
@@ -230,117 +350,184 @@ class OrderServiceImplTest {
     void getOrdersByIds_ShouldReturnOrders_WhenFound() {
         List<Long> ids = List.of(1L, 2L);
 
-        Order o1 = Order.builder().id(1L).userId(10L).status(OrderStatus.PENDING).build();
-        Order o2 = Order.builder().id(2L).userId(20L).status(OrderStatus.SHIPPED).build();
-        when(orderRepository.findByIdIn(ids)).thenReturn(List.of(o1, o2));
+        when(orderRepository.findViewRowsByIdIn(ids)).thenReturn(List.of(
+                row(1L, 10L, OrderStatus.PENDING, 1L, 1),
+                row(2L, 20L, OrderStatus.SHIPPED, null, null)));
 
         UserResponse u1 = UserResponse.builder().id(10L).name("Max").surname("Ivanov").email("max@gmail.com").build();
         UserResponse u2 = UserResponse.builder().id(20L).name("Bob").surname("Smith").email("bob@gmail.com").build();
-        when(userClient.getByUserId(10L)).thenReturn(u1);
-        when(userClient.getByUserId(20L)).thenReturn(u2);
+        when(userBatchLoader.loadUsers(List.of(10L, 20L))).thenReturn(Map.of(10L, u1, 20L, u2));
+
+        List<OrderResponse> out = service.getOrdersByIds(ids);
+
+        assertThat(out).extracting(OrderResponse::getId).containsExactly(1L, 2L);
+        assertThat(out).extracting(o -> o.getUser().getEmail()).containsExactly("max@gmail.com", "bob@gmail.com");
+        assertThat(out.get(1).getItems()).isEmpty();
+        verify(userBatchLoader).loadUsers(List.of(10L, 20L));
+        verifyNoInteractions(userClient, orderMapper);
+    }
+
+    @Test
+    void getOrderById_archived_isReadFromArchive() {
+        when(orderRepository.findViewRowsByIdIn(List.of(7L))).thenReturn(List.of());
+        when(orderArchive.findViewRowsByIdIn(List.of(7L))).thenReturn(List.of(row(7L, 4L, OrderStatus.DELIVERED, 1L, 3)));
+        when(userClient.getByUserId(4L)).thenReturn(UserResponse.builder().id(4L).email("a@gmail.com").build());
+
+        OrderResponse resp = service.getOrderById(7L);
 
-        OrderResponse r1 = OrderResponse.builder().id(1L).userId(10L).status("PENDING").items(List.of()).build();
-        OrderResponse r2 = OrderResponse.builder().id(2L).userId(20L).status("SHIPPED").items(List.of()).build();
-        when(orderMapper.toDto(o1, u1)).thenReturn(r1);
-        when(orderMapper.toDto(o2, u2)).thenReturn(r2);
+        assertThat(resp.getStatus()).isEqualTo("DELIVERED");
+        assertThat(resp.getItems()).extracting(OrderItemResponse::getQuantity).containsExactly(3);
+    }
+
+    @Test
+    void getOrdersByIds_ShouldMergeArchivedOrders_OrderedById() {
+        List<Long> ids = List.of(3L, 1L, 2L);
+        when(orderRepository.findViewRowsByIdIn(ids)).thenReturn(List.of(
+                row(2L, 10L, OrderStatus.PENDING, 1L, 1)));
+        when(orderArchive.findViewRowsByIdIn(List.of(3L, 1L))).thenReturn(List.of(
+                row(1L, 10L, OrderStatus.CANCELLED, 1L, 2),
+                row(3L, 10L, OrderStatus.DELIVERED, null, null)));
+        when(userBatchLoader.loadUsers(anyList())).thenReturn(Map.of());
 
         List<OrderResponse> out = service.getOrdersByIds(ids);
 
-        assertThat(out).hasSize(2);
-        assertThat(out).extracting(OrderResponse::getId).containsExactlyInAnyOrder(1L, 2L);
-        verify(userClient).getByUserId(10L);
-        verify(userClient).getByUserId(20L);
-        verify(orderMapper).toDto(o1, u1);
-        verify(orderMapper).toDto(o2, u2);
+        assertThat(out).extracting(OrderResponse::getId, OrderResponse::getStatus)
+                .containsExactly(tuple(1L, "CANCELLED"), tuple(2L, "PENDING"), tuple(3L, "DELIVERED"));
     }
 
     @Test
     void getOrdersByIds_ShouldReturnEmpty_WhenIdsEmpty() {
-        when(orderRepository.findByIdIn(Collections.emptyList())).thenReturn(List.of());
-
         List<OrderResponse> out = service.getOrdersByIds(List.of());
 
         assertThat(out).isEmpty();
-        verify(orderRepository).findByIdIn(Collections.emptyList());
-        verifyNoInteractions(userClient, orderMapper);
+        verifyNoInteractions(orderRepository, userClient, userBatchLoader, orderMapper);
     }
 
     @Test
     void getOrdersByIds_ShouldMapUserNull_WhenUserServiceReturnsNull() {
         List<Long> ids = List.of(1L);
-        Order o = Order.builder().id(1L).userId(10L).status(OrderStatus.PENDING).build();
-        when(orderRepository.findByIdIn(ids)).thenReturn(List.of(o));
+        when(orderRepository.findViewRowsByIdIn(ids)).thenReturn(List.of(row(1L, 10L, OrderStatus.PENDING, 1L, 1)));
 
-        when(userClient.getByUserId(10L)).thenReturn(null);
-
-        OrderResponse r = OrderResponse.builder().id(1L).userId(10L).status("PENDING").items(List.of()).build();
-        when(orderMapper.toDto(o, null)).thenReturn(r);
+        when(userBatchLoader.loadUsers(List.of(10L))).thenReturn(Map.of());
 
         List<OrderResponse> out = service.getOrdersByIds(ids);
 
         assertThat(out).hasSize(1);
         assertThat(out.getFirst().getUser()).isNull();
-        verify(orderMapper).toDto(o, null);
     }
 
     @Test
     void getOrdersByStatuses_ShouldReturnOrders_WhenFound() {
         List<OrderStatus> statuses = List.of(OrderStatus.PENDING, OrderStatus.SHIPPED);
 
-        Order o1 = Order.builder().id(11L).userId(100L).status(OrderStatus.PENDING).build();
-        Order o2 = Order.builder().id(12L).userId(200L).status(OrderStatus.SHIPPED).build();
-        when(orderRepository.findByStatusIn(statuses)).thenReturn(List.of(o1, o2));
+        when(orderRepository.findPageIdsByStatusIn(names(statuses), 11)).thenReturn(List.of(12L, 11L));
+        when(orderRepository.findViewRowsByIdIn(List.of(12L, 11L))).thenReturn(List.of(
+                row(11L, 100L, OrderStatus.PENDING, 1L, 1),
+                row(12L, 200L, OrderStatus.SHIPPED, 1L, 3)));
 
         UserResponse u1 = UserResponse.builder().id(100L).name("Alex").email("a@ex.com").build();
         UserResponse u2 = UserResponse.builder().id(200L).name("Kate").email("k@ex.com").build();
-        when(userClient.getByUserId(100L)).thenReturn(u1);
-        when(userClient.getByUserId(200L)).thenReturn(u2);
-
-        OrderResponse r1 = OrderResponse.builder().id(11L).userId(100L).status("PENDING").items(List.of()).build();
-        OrderResponse r2 = OrderResponse.builder().id(12L).userId(200L).status("SHIPPED").items(List.of()).build();
-        when(orderMapper.toDto(o1, u1)).thenReturn(r1);
-        when(orderMapper.toDto(o2, u2)).thenReturn(r2);
+        when(userBatchLoader.loadUsers(List.of(200L, 100L))).thenReturn(Map.of(100L, u1, 200L, u2));
 
-        List<OrderResponse> out = service.getOrdersByStatuses(statuses);
+        CursorPage<OrderResponse> page = service.getOrdersByStatuses(statuses, null, 10);
 
-        assertThat(out).hasSize(2);
-        assertThat(out).extracting(OrderResponse::getStatus)
-                .containsExactlyInAnyOrder("PENDING", "SHIPPED");
-        verify(orderRepository).findByStatusIn(statuses);
+        assertThat(page.items()).extracting(OrderResponse::getId).containsExactly(12L, 11L);
+        assertThat(page.items()).extracting(OrderResponse::getStatus).containsExactly("SHIPPED", "PENDING");
+        assertThat(page.hasNext()).isFalse();
     }
 
     @Test
     void getOrdersByStatuses_ShouldReturnEmpty_WhenRepoReturnsEmpty() {
         List<OrderStatus> statuses = List.of(OrderStatus.PAID, OrderStatus.SHIPPED);
-        when(orderRepository.findByStatusIn(statuses)).thenReturn(List.of());
+        when(orderRepository.findPageIdsByStatusIn(names(statuses), 101)).thenReturn(List.of());
 
-        List<OrderResponse> out = service.getOrdersByStatuses(statuses);
+        CursorPage<OrderResponse> page = service.getOrdersByStatuses(statuses, null, 100);
 
-        assertThat(out).isEmpty();
-        verify(orderRepository).findByStatusIn(statuses);
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+        verify(orderRepository, never()).findViewRowsByIdIn(any());
         verifyNoInteractions(userClient, orderMapper);
     }
 
     @Test
     void getOrdersByStatuses_ShouldMapUserNull_WhenUserServiceReturnsNull() {
         List<OrderStatus> statuses = List.of(OrderStatus.PENDING);
-        Order o = Order.builder().id(5L).userId(77L).status(OrderStatus.PENDING).build();
-        when(orderRepository.findByStatusIn(statuses)).thenReturn(List.of(o));
-
-        when(userClient.getByUserId(77L)).thenReturn(null);
+        when(orderRepository.findPageIdsByStatusIn(names(statuses), 101)).thenReturn(List.of(5L));
+        when(orderRepository.findViewRowsByIdIn(List.of(5L))).thenReturn(List.of(row(5L, 77L, OrderStatus.PENDING, 1L, 1)));
 
-        OrderResponse r = OrderResponse.builder().id(5L).userId(77L).status("PENDING").items(List.of()).build();
-        when(orderMapper.toDto(o, null)).thenReturn(r);
+        when(userBatchLoader.loadUsers(List.of(77L))).thenReturn(Map.of());
 
-        List<OrderResponse> out = service.getOrdersByStatuses(statuses);
+        List<OrderResponse> out = service.getOrdersByStatuses(statuses, null, 100).items();
 
         assertThat(out).hasSize(1);
         assertThat(out.getFirst().getUser()).isNull();
-        verify(orderMapper).toDto(o, null);
+    }
+
+    @Test
+    void getOrdersByStatuses_ShouldReturnCursor_WhenMoreOrdersFollow() {
+        List<OrderStatus> statuses = List.of(OrderStatus.PENDING);
+        LocalDateTime created = LocalDateTime.of(2025, 3, 1, 10, 0);
+        when(orderRepository.findPageIdsByStatusIn(names(statuses), 3)).thenReturn(List.of(21L, 22L, 23L));
+        when(orderRepository.findViewRowsByIdIn(List.of(21L, 22L))).thenReturn(List.of(
+                row(21L, 1L, OrderStatus.PENDING, 1L, 1),
+                row(22L, 1L, OrderStatus.PENDING, 1L, 1)));
+        when(userBatchLoader.loadUsers(any())).thenReturn(Map.of());
+
+        CursorPage<OrderResponse> first = service.getOrdersByStatuses(statuses, null, 2);
+
+        assertThat(first.nextCursor()).isNotNull();
+        assertThat(OrderCursor.decode(first.nextCursor())).isEqualTo(new OrderCursor(created, 22L));
+
+        when(orderRepository.findPageIdsByStatusInAfter(names(statuses), created, 22L, 3)).thenReturn(List.of());
+        CursorPage<OrderResponse> second = service.getOrdersByStatuses(statuses, first.nextCursor(), 2);
+
+        assertThat(second.items()).isEmpty();
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void getOrdersByUser_UsesStatusFilterOnlyWhenGiven_AndPagesNewestFirst() {
+        LocalDateTime created = LocalDateTime.of(2025, 3, 1, 10, 0);
+        when(orderRepository.findUserPageIds(4L, Limit.of(2))).thenReturn(List.of(32L, 31L));
+        when(orderRepository.findViewRowsByIdIn(List.of(32L))).thenReturn(List.of(row(32L, 4L, OrderStatus.PAID, 1L, 1)));
+        when(userBatchLoader.loadUsers(any())).thenReturn(Map.of());
+
+        CursorPage<OrderResponse> first = service.getOrdersByUser(4L, null, null, 1);
+
+        assertThat(first.items()).extracting(OrderResponse::getId).containsExactly(32L);
+        assertThat(OrderCursor.decode(first.nextCursor())).isEqualTo(new OrderCursor(created, 32L));
+
+        List<OrderStatus> statuses = List.of(OrderStatus.PENDING);
+        when(orderRepository.findUserPageIdsByStatusInAfter(4L, statuses, created, 32L, Limit.of(2)))
+                .thenReturn(List.of());
+        CursorPage<OrderResponse> second = service.getOrdersByUser(4L, statuses, first.nextCursor(), 1);
+
+        assertThat(second.items()).isEmpty();
+        assertThat(second.hasNext()).isFalse();
+        verify(orderRepository, never()).findUserPageIdsAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    void getMyOrders_ResolvesUserFromCredentials() {
+        when(userClient.getByCredentialsId(111L)).thenReturn(UserResponse.builder().id(4L).build());
+        when(orderRepository.findUserPageIds(4L, Limit.of(11))).thenReturn(List.of());
+
+        CursorPage<OrderResponse> page = service.getMyOrders(111L, List.of(), null, 10);
+
+        assertThat(page.items()).isEmpty();
+        verify(orderRepository).findUserPageIds(4L, Limit.of(11));
+    }
+
+    @Test
+    void getOrdersByStatuses_ShouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> service.getOrdersByStatuses(List.of(OrderStatus.PENDING), "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
     }
 
     @Test
     void updateOrder_ShouldThrowNotFound_WhenOrderMissing() {
+        runTransactionsInline();
         Long id = 999L;
         Long credentialsId = 111L;
         OrderRequest req = OrderRequest.builder().status("SHIPPED").items(List.of()).build();
@@ -352,12 +539,13 @@ class OrderServiceImplTest {
                 .hasMessageContaining("Order not found with id: 999");
 
         verify(orderRepository).findById(id);
-        verify(orderRepository, never()).save(any());
+        verify(orderRepository, never()).saveAndFlush(any());
         verifyNoInteractions(userClient, orderMapper);
     }
 
     @Test
     void updateOrder_replacesItemsAndStatus_andSoftDegradesUser() {
+        runTransactionsInline();
         Long credentialsId = 111L;
         Long actualUserId = 4L;
 
@@ -365,9 +553,11 @@ class OrderServiceImplTest {
         existing.setId(9L);
         existing.setUserId(actualUserId);
         existing.setStatus(OrderStatus.PENDING);
+        existing.setCreationDate(LocalDateTime.of(2025, 3, 1, 10, 0));
         existing.setOrderItems(new ArrayList<>(List.of(
-                OrderItem.builder().order(existing).item(item1).quantity(1).build()
+                OrderItem.builder().order(existing).item(item1).quantity(1).unitPrice(999L).build()
         )));
+        existing.setTotalAmount(999L);
 
         OrderRequest req = OrderRequest.builder()
                 .status("PROCESSING") // было "PAID"
@@ -376,28 +566,59 @@ class OrderServiceImplTest {
 
         when(orderRepository.findById(9L)).thenReturn(Optional.of(existing));
         when(userClient.getByCredentialsId(credentialsId)).thenReturn(UserResponse.builder().id(actualUserId).build());
-        when(itemRepository.findById(2L)).thenReturn(Optional.of(item2));
+        when(itemCatalog.findAllById(any())).thenReturn(Map.of(2L, item2));
         when(userClient.getByUserId(actualUserId)).thenThrow(new NotFoundException("gone"));
 
-        when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(orderRepository.saveAndFlush(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
         when(orderMapper.toDto(any(Order.class), eq(null))).thenReturn(new OrderResponse());
 
         OrderResponse resp = service.updateOrder(9L, req, credentialsId);
         assertThat(resp).isNotNull();
 
         ArgumentCaptor<Order> savedCaptor = ArgumentCaptor.forClass(Order.class);
-        verify(orderRepository).save(savedCaptor.capture());
+        verify(orderRepository).saveAndFlush(savedCaptor.capture());
         Order saved = savedCaptor.getValue();
 
         assertThat(saved.getStatus()).isEqualTo(OrderStatus.PROCESSING);
         assertThat(saved.getOrderItems()).hasSize(1);
         assertThat(saved.getOrderItems().getFirst().getItem().getId()).isEqualTo(2L);
         assertThat(saved.getOrderItems().getFirst().getQuantity()).isEqualTo(3);
+        assertThat(saved.getOrderItems().getFirst().getUnitPrice()).isEqualTo(2490L);
+        assertThat(saved.getTotalAmount()).isEqualTo(7470L);
+        verify(orderStatsRollup).changed(saved.getCreationDate(), OrderStatus.PENDING, 999L,
+                OrderStatus.PROCESSING, 7470L);
     }
 
 
+    @Test
+    void updateOrder_illegalTransition_throws409AndKeepsItems() {
+        runTransactionsInline();
+        Long credentialsId = 111L;
+        Order existing = Order.builder()
+                .id(9L)
+                .userId(4L)
+                .status(OrderStatus.SHIPPED)
+                .build();
+
+        OrderRequest req = OrderRequest.builder()
+                .status("CANCELLED")
+                .items(List.of(OrderItemRequest.builder().itemId(2L).quantity(3).build()))
+                .build();
+
+        when(orderRepository.findById(9L)).thenReturn(Optional.of(existing));
+        when(userClient.getByCredentialsId(credentialsId)).thenReturn(UserResponse.builder().id(4L).build());
+
+        assertThatThrownBy(() -> service.updateOrder(9L, req, credentialsId))
+                .isInstanceOf(IllegalStatusTransitionException.class)
+                .hasMessageContaining("cannot move from SHIPPED to CANCELLED");
+
+        verify(orderRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(itemCatalog);
+    }
+
     @Test
     void updateOrder_wrongOwner_throws403() {
+        runTransactionsInline();
         Long credentialsId = 111L;
         Long actualUserId = 5L;
         Order existing = Order.builder()
@@ -418,7 +639,39 @@ class OrderServiceImplTest {
                 .isInstanceOf(AccessDeniedException.class)
                 .hasMessageContaining("update only your orders");
 
-        verify(orderRepository, never()).save(any());
+        verify(orderRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateOrder_retriesOnVersionConflict() {
+        runTransactionsInline();
+        Long credentialsId = 111L;
+        Order stale = Order.builder().id(9L).userId(4L).status(OrderStatus.PENDING).version(1L).build();
+        Order fresh = Order.builder().id(9L).userId(4L).status(OrderStatus.PENDING).version(2L).build();
+
+        OrderRequest req = OrderRequest.builder()
+                .status("CANCELLED")
+                .items(List.of(OrderItemRequest.builder().itemId(2L).quantity(1).build()))
+                .build();
+
+        when(orderRepository.findById(9L)).thenReturn(Optional.of(stale)).thenReturn(Optional.of(fresh));
+        when(userClient.getByCredentialsId(credentialsId)).thenReturn(UserResponse.builder().id(4L).build());
+        when(itemCatalog.findAllById(any())).thenReturn(Map.of(2L, item2));
+        when(orderRepository.saveAndFlush(any(Order.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, 9L))
+                .thenAnswer(inv -> inv.getArgument(0));
+        when(orderMapper.toDto(any(Order.class), any())).thenReturn(new OrderResponse());
+
+        service.updateOrder(9L, req, credentialsId);
+
+        verify(orderRepository, times(2)).findById(9L);
+        verify(orderRepository).saveAndFlush(fresh);
+        assertThat(fresh.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
@@ -463,6 +716,8 @@ class OrderServiceImplTest {
                 .id(10L)
                 .userId(actualUserId)
                 .status(OrderStatus.PENDING)
+                .creationDate(LocalDateTime.of(2025, 3, 1, 10, 0))
+                .totalAmount(1500L)
                 .build();
 
         when(orderRepository.findById(10L)).thenReturn(Optional.of(existing));
@@ -473,5 +728,6 @@ class OrderServiceImplTest {
         service.deleteOrder(10L, credentialsId);
 
         verify(orderRepository).delete(existing);
+        verify(orderStatsRollup).removed(existing.getCreationDate(), OrderStatus.PENDING, 1500L);
     }
 }
@@ -0,0 +1,80 @@
+package com.internship.orderservice.unit;
+
+import com.internship.orderservice.client.UserBatchLoader;
+import com.internship.orderservice.client.UserClient;
+import com.internship.orderservice.dto.external.UserResponse;
+import com.internship.orderservice.exception.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserBatchLoaderTest {
+
+    @Mock
+    private UserClient userClient;
+
+    private ExecutorService executor;
+    private UserBatchLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        loader = new UserBatchLoader(userClient, executor);
+    }
+
+    @Test
+    void loadUsers_deduplicatesIdsAndUsesOneBulkCall() {
+        UserResponse u1 = UserResponse.builder().id(1L).build();
+        UserResponse u2 = UserResponse.builder().id(2L).build();
+        when(userClient.getByUserIds(Set.of(1L, 2L, 3L))).thenReturn(List.of(u1, u2));
+
+        Map<Long, UserResponse> users = loader.loadUsers(List.of(1L, 2L, 1L, 3L, 2L));
+
+        assertThat(users).containsOnlyKeys(1L, 2L);
+        verify(userClient, never()).getByUserId(any());
+    }
+
+    @Test
+    void loadUsers_bulkUnavailable_fallsBackToParallelCalls() {
+        when(userClient.getByUserIds(any())).thenThrow(new NotFoundException("User not found"));
+        when(userClient.getByUserId(1L)).thenReturn(UserResponse.builder().id(1L).build());
+        when(userClient.getByUserId(2L)).thenThrow(new NotFoundException("User not found"));
+
+        Map<Long, UserResponse> users = loader.loadUsers(List.of(1L, 2L, 1L));
+
+        assertThat(users).containsOnlyKeys(1L);
+    }
+
+    @Test
+    void loadUsers_fallbackPropagatesServerErrors() {
+        when(userClient.getByUserIds(any())).thenThrow(new RuntimeException("User Service error: 500"));
+        when(userClient.getByUserId(1L)).thenThrow(new RuntimeException("User Service error: 503"));
+
+        assertThatThrownBy(() -> loader.loadUsers(List.of(1L)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("503");
+    }
+
+    @Test
+    void loadUsers_emptyInput_doesNotCallUserService() {
+        assertThat(loader.loadUsers(List.of())).isEmpty();
+        verifyNoInteractions(userClient);
+    }
+}